@@ -0,0 +1,138 @@
+package project.benchmark;
+
+import com.google.common.base.Optional;
+import io.atlassian.fugue.Pair;
+import project.model.Board;
+import project.model.Containable;
+import project.model.Coordinate;
+import project.model.DefaultBoard;
+import project.model.ElevatedBoardItem;
+import project.model.Fox;
+import project.model.Hole;
+import project.model.Mushroom;
+import project.model.Rabbit;
+
+/**
+ * Boards of increasing difficulty used by the benchmarks. Every board is
+ * solvable, the harder ones need more moves and lead the solver through more
+ * positions.
+ */
+public enum BenchmarkBoards {
+
+    /**
+     * The default level, solvable in 3 moves.
+     */
+    DEFAULT {
+        @Override
+        public Board create() {
+            return new DefaultBoard().getBoard();
+        }
+    },
+
+    /**
+     * Solvable in 7 moves, the depth first search finds a 10 move solution.
+     */
+    MEDIUM {
+        @Override
+        public Board create() {
+            Board board = layout();
+            board = hole(board, 0, 0, null);
+            board = hole(board, 0, 4, null);
+            board = hole(board, 4, 0, null);
+            board = hole(board, 4, 4, null);
+            board = elevated(board, 0, 2, new Rabbit(0, 2));
+            board = elevated(board, 2, 4, new Rabbit(2, 4));
+            board = board.setItem(new Rabbit(0, 1));
+            board = fox(board, 1, 1, 1, 2);
+            board = fox(board, 2, 1, 3, 1);
+            return board;
+        }
+    },
+
+    /**
+     * Solvable in 12 moves, deeper than the depth first search looks, so it
+     * searches every position it can reach in 10 moves.
+     */
+    HARD {
+        @Override
+        public Board create() {
+            Board board = layout();
+            board = hole(board, 0, 0, new Rabbit(0, 0));
+            board = hole(board, 0, 4, null);
+            board = hole(board, 4, 0, null);
+            board = hole(board, 4, 4, null);
+            board = elevated(board, 0, 2, null);
+            board = elevated(board, 2, 4, new Rabbit(2, 4));
+            board = board.setItem(new Rabbit(4, 3));
+            board = fox(board, 1, 1, 1, 2);
+            board = fox(board, 2, 1, 3, 1);
+            return board;
+        }
+    };
+
+    /**
+     * Creates a new copy of the board.
+     * @return the board.
+     */
+    public abstract Board create();
+
+    /**
+     * Creates the cells shared by the harder boards: a hole in the middle
+     * holding a mushroom, two mushrooms and the elevated cells on the left
+     * and at the bottom.
+     * @return the shared layout.
+     */
+    private static Board layout() {
+        Board board = new Board(5, 5);
+        board = hole(board, 2, 2, new Mushroom(2, 2));
+        board = elevated(board, 2, 0, null);
+        board = elevated(board, 4, 2, null);
+        board = board.setItem(new Mushroom(1, 0));
+        board = board.setItem(new Mushroom(3, 4));
+        return board;
+    }
+
+    /**
+     * Adds a hole to a board.
+     * @param board the board.
+     * @param row the row of the hole.
+     * @param column the column of the hole.
+     * @param item the item in the hole, or null if it is empty.
+     * @return the board with the hole.
+     */
+    private static Board hole(Board board, int row, int column,
+                              Containable item) {
+        return board.setItem(new Hole(new Coordinate(row, column),
+                Optional.fromNullable(item)));
+    }
+
+    /**
+     * Adds an elevated cell to a board.
+     * @param board the board.
+     * @param row the row of the cell.
+     * @param column the column of the cell.
+     * @param item the item on the cell, or null if it is empty.
+     * @return the board with the elevated cell.
+     */
+    private static Board elevated(Board board, int row, int column,
+                                  Containable item) {
+        return board.setItem(new ElevatedBoardItem(
+                new Coordinate(row, column), Optional.fromNullable(item)));
+    }
+
+    /**
+     * Adds a fox to a board.
+     * @param board the board.
+     * @param headRow the row of the fox's head.
+     * @param headColumn the column of the fox's head.
+     * @param tailRow the row of the fox's tail.
+     * @param tailColumn the column of the fox's tail.
+     * @return the board with the fox.
+     */
+    private static Board fox(Board board, int headRow, int headColumn,
+                             int tailRow, int tailColumn) {
+        return board.setItem(new Fox(Pair.pair(
+                new Coordinate(headRow, headColumn),
+                new Coordinate(tailRow, tailColumn))));
+    }
+}
@@ -0,0 +1,179 @@
+package project.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.model.Board;
+import project.model.Coordinate;
+import project.model.DefaultBoard;
+import project.model.InvalidMoveException;
+import project.solver.MoveBuffer;
+import project.solver.Solver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the board operations the solver performs for every position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardBenchmark {
+
+    /**
+     * The default board.
+     */
+    private Board board;
+
+    /**
+     * A board equal to the default board, but a different object.
+     */
+    private Board equalBoard;
+
+    /**
+     * The notation of the default board.
+     */
+    private String notation;
+
+    /**
+     * The bottom rabbit, which jumps over a fox into the middle hole.
+     */
+    private final Coordinate rabbit = new Coordinate(4, 2);
+
+    /**
+     * The middle hole.
+     */
+    private final Coordinate hole = new Coordinate(2, 2);
+
+    /**
+     * The head of the bottom fox.
+     */
+    private final Coordinate fox = new Coordinate(3, 3);
+
+    /**
+     * Where the bottom fox slides to.
+     */
+    private final Coordinate foxDestination = new Coordinate(3, 1);
+
+    /**
+     * The buffer moves are generated into.
+     */
+    private final MoveBuffer buffer = new MoveBuffer();
+
+    /**
+     * Creates the boards.
+     */
+    @Setup
+    public void setUp() {
+        board = new DefaultBoard().getBoard();
+        equalBoard = new DefaultBoard().getBoard();
+        notation = board.toNotation();
+    }
+
+    /**
+     * Builds the default board from its items.
+     * @return the default board.
+     */
+    @Benchmark
+    public Board buildDefaultBoard() {
+        return new DefaultBoard().getBoard();
+    }
+
+    /**
+     * Writes the default board in its one line notation.
+     * @return the notation.
+     */
+    @Benchmark
+    public String formatNotation() {
+        return board.toNotation();
+    }
+
+    /**
+     * Reads the default board from its one line notation.
+     * @return the board.
+     */
+    @Benchmark
+    public Board parseNotation() {
+        return Board.fromNotation(notation);
+    }
+
+    /**
+     * Jumps a rabbit into a hole.
+     * @return the board after the jump.
+     * @throws InvalidMoveException if the move is invalid.
+     */
+    @Benchmark
+    public Board moveRabbit() throws InvalidMoveException {
+        return board.move(rabbit, hole);
+    }
+
+    /**
+     * Slides a fox.
+     * @return the board after the slide.
+     * @throws InvalidMoveException if the move is invalid.
+     */
+    @Benchmark
+    public Board moveFox() throws InvalidMoveException {
+        return board.move(fox, foxDestination);
+    }
+
+    /**
+     * Jumps a rabbit into a hole without checking the move, as the solver
+     * does.
+     * @return the board after the jump.
+     */
+    @Benchmark
+    public Board applyRabbitUnchecked() {
+        return board.applyUnchecked(rabbit, hole);
+    }
+
+    /**
+     * Slides a fox without checking the move, as the solver does.
+     * @return the board after the slide.
+     */
+    @Benchmark
+    public Board applyFoxUnchecked() {
+        return board.applyUnchecked(fox, foxDestination);
+    }
+
+    /**
+     * Generates the legal moves of the board with bitboards.
+     * @return the number of moves generated.
+     */
+    @Benchmark
+    public int generateMoves() {
+        Solver.generateMoves(board, buffer);
+        return buffer.size();
+    }
+
+    /**
+     * Checks if the board is solved.
+     * @return the board with its game state updated.
+     */
+    @Benchmark
+    public Board updateGameState() {
+        return board.updateGameState();
+    }
+
+    /**
+     * Compares two equal boards.
+     * @return true.
+     */
+    @Benchmark
+    public boolean equalBoards() {
+        return board.equals(equalBoard);
+    }
+
+    /**
+     * Hashes the board.
+     * @return the hash code of the board.
+     */
+    @Benchmark
+    public int boardHashCode() {
+        return board.hashCode();
+    }
+}
@@ -0,0 +1,111 @@
+package project.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.model.Board;
+import project.solver.Move;
+import project.solver.Solver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many times per second each search solves a board, and how
+ * fast the board's remaining moves are estimated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SolverBenchmark {
+
+    /**
+     * The board being solved.
+     */
+    @Param({"DEFAULT", "MEDIUM", "HARD"})
+    public BenchmarkBoards level;
+
+    /**
+     * The board created from the level.
+     */
+    private Board board;
+
+    /**
+     * Creates the board.
+     */
+    @Setup
+    public void setUp() {
+        board = level.create();
+    }
+
+    /**
+     * Solves the board with the depth first search.
+     * @return the moves found.
+     */
+    @Benchmark
+    public List<Move> solve() {
+        return Solver.solve(board);
+    }
+
+    /**
+     * Solves the board with the breadth first search.
+     * @return the moves found.
+     */
+    @Benchmark
+    public List<Move> solveShortest() {
+        return Solver.solveShortest(board);
+    }
+
+    /**
+     * Solves the board with iterative deepening A*. Without a transposition
+     * table the search takes minutes on the hard board, so it only runs on
+     * the easier ones.
+     * @param state the board being solved.
+     * @return the moves found.
+     */
+    @Benchmark
+    public List<Move> solveOptimal(OptimalState state) {
+        return Solver.solveOptimal(state.board);
+    }
+
+    /**
+     * Estimates the moves left on the board, as done at every node of the
+     * iterative deepening A* search.
+     * @return the estimate.
+     */
+    @Benchmark
+    public int estimateRemainingMoves() {
+        return Solver.estimateRemainingMoves(board);
+    }
+
+    /**
+     * The boards solved by iterative deepening A*.
+     */
+    @State(Scope.Benchmark)
+    public static class OptimalState {
+
+        /**
+         * The board being solved.
+         */
+        @Param({"DEFAULT", "MEDIUM"})
+        public BenchmarkBoards level;
+
+        /**
+         * The board created from the level.
+         */
+        private Board board;
+
+        /**
+         * Creates the board.
+         */
+        @Setup
+        public void setUp() {
+            board = level.create();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package project.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import project.model.Board;
+import project.model.DefaultBoard;
+import project.model.XMLParser;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving boards to XML and loading them back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class XMLBenchmark {
+
+    /**
+     * The board being saved.
+     */
+    private Board board;
+
+    /**
+     * The file the board is loaded from.
+     */
+    private File file;
+
+    /**
+     * Saves the default board to a temporary file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        board = new DefaultBoard().getBoard();
+
+        // Only used for a unique name, writeToXMLFile adds the extension
+        File unique = File.createTempFile("benchmark", "");
+        String name = unique.getPath();
+
+        XMLParser.writeToXMLFile(board, name);
+        unique.delete();
+        file = new File(name + ".XML");
+    }
+
+    /**
+     * Deletes the temporary file.
+     */
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Loads the board from its file.
+     * @return the loaded board.
+     * @throws IOException if the file cannot be read.
+     * @throws XMLStreamException if the file is not a valid board.
+     */
+    @Benchmark
+    public Board boardFromXML() throws IOException, XMLStreamException {
+        return XMLParser.boardFromXML(file);
+    }
+
+    /**
+     * Converts the board to XML.
+     * @return the XML of the board.
+     */
+    @Benchmark
+    public String toXML() {
+        return board.toXML();
+    }
+}
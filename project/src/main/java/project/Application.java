@@ -6,8 +6,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import project.model.*;
 import project.model.Fox;
-import project.solver.Move;
-import project.solver.Solver;
+import project.solver.ParallelSolver;
+import project.solver.SolverRequest;
+import project.solver.SolverResult;
 import project.view.*;
 import project.view.Board;
 
@@ -15,8 +16,8 @@ import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
 import java.sql.Time;
+import java.time.Duration;
 import java.util.Date;
-import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -159,26 +160,53 @@ public class Application extends JFrame implements ItemClickListener {
         int defaultTimeSeconds = 30;
 
         final ExecutorService service = Executors.newSingleThreadExecutor();
+        final ForkJoinPool pool = new ForkJoinPool();
+        final SolverRequest request = new SolverRequest(board)
+                .withTimeout(Duration.ofSeconds(defaultTimeSeconds))
+                .withProgressListener(progress -> logger.debug(progress));
+
+        // The search runs on its own pool, started from the executor, so the
+        // event thread stays free and the common pool is left alone
+        this.solve.setEnabled(false);
+
+        CompletableFuture.supplyAsync(
+                () -> new ParallelSolver(pool).solve(request), service)
+                // The request stops itself at its deadline, the extra second
+                // only guards against a search that does not check it in time
+                .orTimeout(defaultTimeSeconds + 1, TimeUnit.SECONDS)
+                .whenComplete((result, error) -> {
+                    // Stop the search even if it is still running
+                    request.cancel();
+                    service.shutdownNow();
+                    pool.shutdownNow();
+
+                    SwingUtilities.invokeLater(() -> {
+                        this.solve.setEnabled(true);
+                        showSolveResult(result, error);
+                    });
+                });
 
         showMessage("attempting to solve the board");
+    }
 
-        try {
-            final Future<List<Move>> f = service.submit(() -> {
-                return Solver.solve(board);
-            });
+    /**
+     * Shows the result of solving the board.
+     * @param result the result of the search, or null if it failed.
+     * @param error why the search failed, or null if it finished.
+     */
+    private void showSolveResult(SolverResult result, Throwable error) {
+        if (error != null && !(error instanceof TimeoutException)) {
+            logger.error("the solver failed", error);
+        }
+
+        logger.debug(result);
 
-            List<Move> moves = f.get(defaultTimeSeconds, TimeUnit.SECONDS);
-            logger.debug("solved in time");
+        if (result != null && result.isSolved()) {
             showMessage("This level can be solved.");
-        } catch (final TimeoutException e) {
+        } else {
             showError("the board could not be solved in the default settings," +
                     " it may not be solvable");
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            service.shutdown();
         }
-
     }
 
     /**
@@ -472,19 +500,20 @@ public class Application extends JFrame implements ItemClickListener {
             destinationItem = Optional.of(event.coordinate);
 
             // Apply to the board
-            try {
-                project.model.Board appliedBoard = this.board.move(selectedItem.get(),
-                        destinationItem.get());
-                this.boardHistory.addState(appliedBoard);
-                updateBoard(appliedBoard);
-            } catch (InvalidMoveException e) {
-                logger.debug(e);
-                JOptionPane.showMessageDialog(this, e.getMessage(), "Exception!"
-                        , 0);
-            } finally {
-                // Clear selections
-                selectedItem = Optional.absent();
-                destinationItem = Optional.absent();
+            MoveResult result = this.board.tryMove(selectedItem.get(),
+                    destinationItem.get());
+
+            // Clear selections
+            selectedItem = Optional.absent();
+            destinationItem = Optional.absent();
+
+            if (result.isLegal()) {
+                this.boardHistory.addState(result.board);
+                updateBoard(result.board);
+            } else {
+                logger.debug(result.legality.message);
+                JOptionPane.showMessageDialog(this, result.legality.message,
+                        "Exception!", 0);
             }
         }
 
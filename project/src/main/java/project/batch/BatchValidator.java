@@ -0,0 +1,380 @@
+package project.batch;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import project.model.Board;
+import project.model.XMLParser;
+import project.solver.Solver;
+import project.solver.SolverRequest;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves every level in a directory without the GUI, so the whole level
+ * catalogue can be checked after every change. Levels are solved
+ * concurrently on a fixed number of threads, each with its own node budget
+ * and time limit, and the outcome of every level is written as a CSV or JSON
+ * report.
+ */
+public class BatchValidator {
+
+    /**
+     * The logger used to log the progress of the validation.
+     */
+    private static Logger logger = LogManager.getLogger(BatchValidator.class);
+
+    /**
+     * The extension of the level files that are validated.
+     */
+    public static final String EXTENSION = ".XML";
+
+    /**
+     * The time limit of each level when none is given, the same limit the
+     * level builder uses.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The number of levels solved at the same time.
+     */
+    private final int threads;
+
+    /**
+     * The search used to solve every level.
+     */
+    private final SolverRequest.Algorithm algorithm;
+
+    /**
+     * The most positions searched for each level.
+     */
+    private final long nodeBudget;
+
+    /**
+     * The time limit of each level.
+     */
+    private final Duration timeout;
+
+    /**
+     * Creates a validator.
+     * @param threads the number of levels solved at the same time.
+     * @param algorithm the search used to solve every level.
+     * @param nodeBudget the most positions searched for each level.
+     * @param timeout the time limit of each level.
+     * @throws IllegalArgumentException if the number of threads is not
+     * positive, or the node budget or timeout is negative.
+     */
+    public BatchValidator(int threads, SolverRequest.Algorithm algorithm,
+                          long nodeBudget, Duration timeout) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread: " +
+                    threads);
+        }
+
+        if (nodeBudget < 0) {
+            throw new IllegalArgumentException("Node budget cannot be " +
+                    "negative: " + nodeBudget);
+        }
+
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout cannot be " +
+                    "negative: " + timeout);
+        }
+
+        this.threads = threads;
+        this.algorithm = algorithm;
+        this.nodeBudget = nodeBudget;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Solves every level file in a directory.
+     * @param directory the directory containing the level files.
+     * @return the report of every level, in order of file name.
+     * @throws IOException if the directory cannot be listed.
+     * @throws InterruptedException if interrupted while waiting for the
+     * levels to be solved.
+     */
+    public List<LevelReport> validate(File directory) throws IOException,
+            InterruptedException {
+        File[] files = directory.listFiles(
+                (dir, name) -> name.endsWith(EXTENSION));
+
+        if (files == null) {
+            throw new IOException("Cannot list the levels in " + directory);
+        }
+
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        logger.info("validating " + files.length + " levels on " + threads +
+                " threads");
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<LevelReport> reports = new ArrayList<>();
+
+        try {
+            List<Future<LevelReport>> futures = new ArrayList<>();
+
+            for (File file : files) {
+                futures.add(pool.submit(() -> validateLevel(file)));
+            }
+
+            for (int i = 0; i < files.length; i++) {
+                try {
+                    reports.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.error(e);
+                    reports.add(new LevelReport(files[i].getName(),
+                            String.valueOf(e.getCause())));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return reports;
+    }
+
+    /**
+     * Reads and solves a single level file.
+     * @param file the level file.
+     * @return the report of the level.
+     */
+    public LevelReport validateLevel(File file) {
+        Board board;
+
+        try {
+            board = XMLParser.boardFromXML(file);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            logger.error("could not read " + file, e);
+            return new LevelReport(file.getName(), String.valueOf(e));
+        }
+
+        SolverRequest request = new SolverRequest(board)
+                .withAlgorithm(algorithm)
+                .withNodeBudget(nodeBudget);
+
+        // The time limit starts when the level is solved, not when queued
+        if (timeout != null) {
+            request.withTimeout(timeout);
+        }
+
+        LevelReport report = new LevelReport(file.getName(),
+                Solver.solve(request));
+        logger.info(report.fileName + ": " + report.result);
+
+        return report;
+    }
+
+    /**
+     * Writes reports as CSV, one line per level after a header line.
+     * @param reports the reports to write.
+     * @param writer where the CSV is written to.
+     * @throws IOException if the writer fails.
+     */
+    public static void writeCSV(List<LevelReport> reports, Writer writer)
+            throws IOException {
+        writer.write("file,status,solvable,length,nodes,millis,error\n");
+
+        for (LevelReport report : reports) {
+            writer.write(csvField(report.fileName) + "," +
+                    report.getStatus() + "," +
+                    report.isSolvable() + "," +
+                    report.getSolutionLength() + "," +
+                    report.getNodes() + "," +
+                    report.getElapsedMillis() + "," +
+                    (report.error == null ? "" : csvField(report.error)) +
+                    "\n");
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Writes reports as a JSON array with one object per level.
+     * @param reports the reports to write.
+     * @param writer where the JSON is written to.
+     * @throws IOException if the writer fails.
+     */
+    public static void writeJSON(List<LevelReport> reports, Writer writer)
+            throws IOException {
+        writer.write("[");
+
+        for (int i = 0; i < reports.size(); i++) {
+            LevelReport report = reports.get(i);
+
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("  {\"file\": " + jsonString(report.fileName) +
+                    ", \"status\": " + jsonString(report.getStatus()) +
+                    ", \"solvable\": " + report.isSolvable() +
+                    ", \"length\": " + report.getSolutionLength() +
+                    ", \"nodes\": " + report.getNodes() +
+                    ", \"millis\": " + report.getElapsedMillis() +
+                    ", \"error\": " + (report.error == null ? "null" :
+                    jsonString(report.error)) + "}");
+        }
+
+        writer.write("\n]\n");
+        writer.flush();
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, a quote or a new line.
+     * @param value the value of the field.
+     * @return the field as written in the CSV.
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 &&
+                value.indexOf('\n') < 0) {
+            return value;
+        }
+
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Creates a JSON string literal.
+     * @param value the value of the string.
+     * @return the quoted and escaped string.
+     */
+    private static String jsonString(String value) {
+        StringBuilder json = new StringBuilder("\"");
+
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+
+        return json.append('"').toString();
+    }
+
+    /**
+     * Prints how the validator is used.
+     */
+    @SuppressWarnings("PMD")
+    private static void printUsage() {
+        System.err.println("usage: BatchValidator <directory> " +
+                "[--format csv|json] [--output file] [--threads n] " +
+                "[--algorithm depth_first|shortest|optimal] [--nodes n] " +
+                "[--timeout seconds]");
+    }
+
+    /**
+     * Validates every level in a directory and writes the report. Exits with
+     * 1 if any level could not be solved and with 2 if the arguments are
+     * wrong.
+     * @param args the directory followed by any options.
+     * @throws Exception if the levels cannot be listed or the report cannot
+     * be written.
+     */
+    @SuppressWarnings("PMD.UseVarargs")
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            printUsage();
+            System.exit(2);
+        }
+
+        File directory = new File(args[0]);
+        String format = "csv";
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SolverRequest.Algorithm algorithm = SolverRequest.Algorithm.SHORTEST;
+        long nodeBudget = SolverRequest.UNLIMITED;
+        Duration timeout = DEFAULT_TIMEOUT;
+
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                String value = args[i + 1];
+
+                switch (args[i]) {
+                    case "--format":
+                        format = value.toLowerCase(Locale.ROOT);
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--algorithm":
+                        algorithm = SolverRequest.Algorithm.valueOf(
+                                value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--nodes":
+                        nodeBudget = Long.parseLong(value);
+                        break;
+                    case "--timeout":
+                        timeout = Duration.ofSeconds(Long.parseLong(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i]);
+                }
+            }
+
+            if (!format.equals("csv") && !format.equals("json")) {
+                throw new IllegalArgumentException(format);
+            }
+
+            if (threads < 1) {
+                throw new IllegalArgumentException("--threads " + threads);
+            }
+
+            if (nodeBudget < 0) {
+                throw new IllegalArgumentException("--nodes " + nodeBudget);
+            }
+
+            if (timeout.isNegative()) {
+                throw new IllegalArgumentException("--timeout " +
+                        timeout.getSeconds());
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            logger.error("invalid argument " + e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+
+        if (output == null) {
+            output = "report." + format;
+        }
+
+        List<LevelReport> reports = new BatchValidator(threads, algorithm,
+                nodeBudget, timeout).validate(directory);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(output), StandardCharsets.UTF_8))) {
+            if (format.equals("json")) {
+                writeJSON(reports, writer);
+            } else {
+                writeCSV(reports, writer);
+            }
+        }
+
+        long failures = reports.stream().filter(r -> !r.isSolvable()).count();
+        logger.info(reports.size() - failures + " of " + reports.size() +
+                " levels solved, report written to " + output);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package project.batch;
+
+import project.solver.SolverResult;
+
+/**
+ * The outcome of validating a single level file.
+ */
+public class LevelReport {
+
+    /**
+     * The name of the level file.
+     */
+    public final String fileName;
+
+    /**
+     * The result of solving the level, or null if it could not be read.
+     */
+    public final SolverResult result;
+
+    /**
+     * Why the level could not be read, or null if it was read.
+     */
+    public final String error;
+
+    /**
+     * Creates the report of a level that was read and solved.
+     * @param fileName the name of the level file.
+     * @param result the result of solving the level.
+     */
+    public LevelReport(String fileName, SolverResult result) {
+        this.fileName = fileName;
+        this.result = result;
+        this.error = null;
+    }
+
+    /**
+     * Creates the report of a level that could not be read.
+     * @param fileName the name of the level file.
+     * @param error why the level could not be read.
+     */
+    public LevelReport(String fileName, String error) {
+        this.fileName = fileName;
+        this.result = null;
+        this.error = error;
+    }
+
+    /**
+     * Returns the status of the level, the status of its solve or ERROR if
+     * it could not be read.
+     * @return the status of the level.
+     */
+    public String getStatus() {
+        return result == null ? "ERROR" : result.status.toString();
+    }
+
+    /**
+     * Returns true if the level was solved.
+     * @return true if a solution was found.
+     */
+    public boolean isSolvable() {
+        return result != null && result.isSolved();
+    }
+
+    /**
+     * Returns the number of moves of the solution found.
+     * @return the length of the solution, or -1 if none was found.
+     */
+    public int getSolutionLength() {
+        return isSolvable() ? result.moves.size() : -1;
+    }
+
+    /**
+     * Returns the number of positions searched.
+     * @return the number of nodes expanded, 0 if the level was not solved.
+     */
+    public long getNodes() {
+        return result == null ? 0 : result.nodes;
+    }
+
+    /**
+     * Returns the time the solve took.
+     * @return the time in milliseconds, 0 if the level was not solved.
+     */
+    public long getElapsedMillis() {
+        return result == null ? 0 : result.elapsedMillis;
+    }
+}
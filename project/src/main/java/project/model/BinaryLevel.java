@@ -0,0 +1,158 @@
+package project.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A compact binary encoding of a level. A level is stored as its number of
+ * rows and columns, one unsigned byte each, followed by the four bit
+ * {@link CellCode} of every cell in row major order, two cells to a byte
+ * with the first cell in the low bits. A 5x5 level takes 15 bytes, and
+ * decodes back into a board equal to the one read from its XML file.
+ */
+public final class BinaryLevel {
+
+    /**
+     * The largest number of rows or columns a level can have.
+     */
+    public static final int MAX_SIZE = 255;
+
+    /**
+     * The number of bytes before the cell codes.
+     */
+    private static final int HEADER_BYTES = 2;
+
+    /**
+     * Mask selecting a single code.
+     */
+    private static final int CODE_MASK = (1 << CellCode.BITS) - 1;
+
+    /**
+     * Levels are only encoded and decoded through the static methods.
+     */
+    private BinaryLevel() {
+    }
+
+    /**
+     * Returns the number of bytes a level of a size is encoded in.
+     * @param rows The number of rows of the level.
+     * @param columns The number of columns of the level.
+     * @return The length of the encoding.
+     */
+    public static int encodedLength(int rows, int columns) {
+        return HEADER_BYTES + (rows * columns + 1) / 2;
+    }
+
+    /**
+     * Encodes a level into a new array.
+     * @param board The level being encoded.
+     * @return The encoding.
+     * @throws IllegalArgumentException If the level has more than MAX_SIZE
+     * rows or columns.
+     */
+    public static byte[] encode(Board board) {
+        ByteBuffer buffer = ByteBuffer.allocate(
+                encodedLength(board.numberOfRows, board.numberOfColumns));
+
+        encode(board, buffer);
+
+        return buffer.array();
+    }
+
+    /**
+     * Encodes a level at the position of a buffer, and moves the position
+     * past it.
+     * @param board The level being encoded.
+     * @param buffer The buffer the encoding is written to.
+     * @throws IllegalArgumentException If the level has more than MAX_SIZE
+     * rows or columns.
+     * @throws java.nio.BufferOverflowException If the level does not fit in
+     * the buffer.
+     */
+    public static void encode(Board board, ByteBuffer buffer) {
+        if (board.numberOfRows > MAX_SIZE || board.numberOfColumns > MAX_SIZE) {
+            throw new IllegalArgumentException("A " + board.numberOfRows +
+                    "x" + board.numberOfColumns + " level is too large");
+        }
+
+        buffer.put((byte) board.numberOfRows);
+        buffer.put((byte) board.numberOfColumns);
+
+        int cellCount = board.numberOfRows * board.numberOfColumns;
+
+        for (int cell = 0; cell < cellCount; cell += 2) {
+            int codes = board.getCode(cell);
+
+            if (cell + 1 < cellCount) {
+                codes |= board.getCode(cell + 1) << CellCode.BITS;
+            }
+
+            buffer.put((byte) codes);
+        }
+    }
+
+    /**
+     * Decodes a level from an array.
+     * @param bytes The encoding of the level.
+     * @return The level, in progress.
+     * @throws IllegalArgumentException If the encoding is not a valid level.
+     */
+    public static Board decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes), 0);
+    }
+
+    /**
+     * Decodes the level starting at an index of a buffer. Only absolute
+     * reads are used, so the buffer can be shared between threads.
+     * @param buffer The buffer holding the level.
+     * @param offset The index of the first byte of the level.
+     * @return The level, in progress.
+     * @throws IllegalArgumentException If the encoding is not a valid level.
+     */
+    public static Board decode(ByteBuffer buffer, int offset) {
+        if (offset < 0 || offset + HEADER_BYTES > buffer.limit()) {
+            throw new IllegalArgumentException("No level at " + offset);
+        }
+
+        int rows = Byte.toUnsignedInt(buffer.get(offset));
+        int columns = Byte.toUnsignedInt(buffer.get(offset + 1));
+
+        if (offset + encodedLength(rows, columns) > buffer.limit()) {
+            throw new IllegalArgumentException("The " + rows + "x" + columns +
+                    " level at " + offset + " is truncated");
+        }
+
+        // Every fox head needs its own tail beside it, and every tail a head
+        int brokenFox = CellCode.findBrokenFox(rows, columns,
+                cell -> readCode(buffer, offset, cell));
+
+        if (brokenFox != -1) {
+            throw new IllegalArgumentException("Cell " + brokenFox +
+                    " of the level at " + offset + " holds half a fox");
+        }
+
+        Board.Builder builder = new Board.Builder(rows, columns);
+
+        for (int cell = 0; cell < rows * columns; cell++) {
+            int code = readCode(buffer, offset, cell);
+
+            if (code != CellCode.EMPTY && code != CellCode.FOX_TAIL) {
+                builder.setItem(CellCode.toItem(code,
+                        Coordinate.of(cell / columns, cell % columns)));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Reads the code of a cell of the level starting at an index of a buffer.
+     * @param buffer The buffer holding the level.
+     * @param offset The index of the first byte of the level.
+     * @param cell The index of the cell.
+     * @return The {@link CellCode} of the cell.
+     */
+    private static int readCode(ByteBuffer buffer, int offset, int cell) {
+        return (buffer.get(offset + HEADER_BYTES + cell / 2) >>
+                ((cell % 2) * CellCode.BITS)) & CODE_MASK;
+    }
+}
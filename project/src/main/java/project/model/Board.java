@@ -9,8 +9,6 @@ import org.pcollections.HashTreePMap;
 import org.pcollections.PMap;
 
 import java.io.*;
-import java.util.HashSet;
-import java.util.Objects;
 
 
 
@@ -37,16 +35,88 @@ public class Board {
 	 */
 	public final int numberOfColumns;
 
+	/**
+	 * The largest number of cells a board can have for its cells to be kept
+	 * as bits of a long, see {@link #getObstacleBits()}.
+	 */
+	public static final int MAX_BITBOARD_CELLS = Long.SIZE;
+
 	/**
 	 * The logger used to log any errors.
 	 */
 	private static Logger logger = LogManager.getLogger(Board.class);
 
 	/**
-	 * The persistent map containing the items in the board.
+	 * The items in the board, indexed by row * numberOfColumns + column.
+	 * Boards share the array with the boards copied from them, so it is never
+	 * modified after the board has been handed out, setItem copies it first.
+	 */
+	private BoardItem[] cells;
+
+	/**
+	 * The cells that are obstacles, one bit per cell. Only kept for
+	 * boards of at most MAX_BITBOARD_CELLS cells.
+	 */
+	private long obstacleBits;
+
+	/**
+	 * The holes, elevated cells and mushrooms of the level, shared with every
+	 * board reached from this one by moving pieces. Built when first needed
+	 * and dropped when a change to a cell changes the level itself.
+	 */
+	private StaticLayer layer;
+
+	/**
+	 * The {@link CellCode} of every cell, indexed like cells and copied with
+	 * it.
+	 */
+	private byte[] codes;
+
+	/**
+	 * The cells holding rabbits that are not in a hole or elevated cell.
+	 */
+	private PieceList rabbitCells;
+
+	/**
+	 * The cells of holes and elevated cells holding a rabbit.
+	 */
+	private PieceList containedRabbitCells;
+
+	/**
+	 * The cells holding the head of a fox.
+	 */
+	private PieceList foxHeadCells;
+
+	/**
+	 * True once this board has its own copies of the piece lists, which are
+	 * otherwise shared with the board it was copied from.
+	 */
+	private boolean ownsPieces;
+
+	/**
+	 * The persistent map of the items in the board, only created when it is
+	 * asked for.
 	 */
 	private PMap<Coordinate, BoardItem> items;
 
+	/**
+	 * The Zobrist hash of the items in the board, updated whenever a cell
+	 * changes.
+	 */
+	private long positionHash;
+
+	/**
+	 * The number of rabbits that are not in a hole, including rabbits on
+	 * elevated cells, updated whenever a cell changes.
+	 */
+	private int freeRabbits;
+
+	/**
+	 * The number of rabbits sitting in holes, updated whenever a cell
+	 * changes.
+	 */
+	private int rabbitsInHoles;
+
 	/**
 	 * The current gamestate of the board, either won or in progress.
 	 */
@@ -59,8 +129,7 @@ public class Board {
 	 * @param coordinate coordinate of what is trying ot move
 	 * @return rowSlice or columnSlice depending on direction
 	 */
-	private PMap<Coordinate, BoardItem> getSlice(Direction direction,
-												 Coordinate coordinate) {
+	private BoardSlice getSlice(Direction direction, Coordinate coordinate) {
 		if (direction == Direction.LEFT || direction == Direction.RIGHT) {
 			return this.getRowSlice(coordinate.row);
 		} else {
@@ -85,16 +154,21 @@ public class Board {
 	 */
 	public Board(int rows, int columns, GameState gameState) {
 		this.currentGameState = gameState;
-		items = HashTreePMap.empty();
 		this.numberOfRows = rows;
 		this.numberOfColumns = columns;
+		this.cells = new BoardItem[rows * columns];
+		this.codes = new byte[rows * columns];
+		this.rabbitCells = new PieceList();
+		this.containedRabbitCells = new PieceList();
+		this.foxHeadCells = new PieceList();
+		this.ownsPieces = true;
 
 		// Initialize Board Items
 		for (int row = 0; row < numberOfRows; row++) {
 			for (int column = 0; column < numberOfColumns; column++) {
-				Coordinate currentCoordinate = new Coordinate(row, column);
-				BoardItem itemToAdd = new EmptyBoardItem(currentCoordinate);
-				items = items.plus(currentCoordinate, itemToAdd);
+				Coordinate currentCoordinate = Coordinate.of(row, column);
+				cells[row * numberOfColumns + column] =
+						EmptyBoardItem.of(currentCoordinate);
 			}
 		}
 	}
@@ -108,7 +182,17 @@ public class Board {
 		this.numberOfRows = board.numberOfRows;
 		this.numberOfColumns = board.numberOfColumns;
 
+		this.cells = board.cells;
 		this.items = board.items;
+		this.positionHash = board.positionHash;
+		this.freeRabbits = board.freeRabbits;
+		this.rabbitsInHoles = board.rabbitsInHoles;
+		this.obstacleBits = board.obstacleBits;
+		this.layer = board.layer;
+		this.codes = board.codes;
+		this.rabbitCells = board.rabbitCells;
+		this.containedRabbitCells = board.containedRabbitCells;
+		this.foxHeadCells = board.foxHeadCells;
 	}
 
 	/**
@@ -116,12 +200,22 @@ public class Board {
 	 * @param board The board that should be copied.
 	 * @param gameState The new board's gamestate.
 	 */
-	private Board(Board board, GameState gameState) {
+	Board(Board board, GameState gameState) {
 		this.currentGameState = gameState;
 		this.numberOfRows = board.numberOfRows;
 		this.numberOfColumns = board.numberOfColumns;
 
+		this.cells = board.cells;
 		this.items = board.items;
+		this.positionHash = board.positionHash;
+		this.freeRabbits = board.freeRabbits;
+		this.rabbitsInHoles = board.rabbitsInHoles;
+		this.obstacleBits = board.obstacleBits;
+		this.layer = board.layer;
+		this.codes = board.codes;
+		this.rabbitCells = board.rabbitCells;
+		this.containedRabbitCells = board.containedRabbitCells;
+		this.foxHeadCells = board.foxHeadCells;
 	}
 
 	/**
@@ -131,71 +225,423 @@ public class Board {
 	 * @return a board which is a result of the applied transformation
 	 */
 	public Board setItem(BoardItem item) {
-		Board modifiedBoard = new Board(this);
+		Board modifiedBoard = this.copyCells();
+		modifiedBoard.placeItem(item);
 
+		return modifiedBoard;
+	}
+
+	/**
+	 * Builds a board from many items without creating a board for every item
+	 * like repeated calls to setItem would. Items are placed into a single
+	 * board that is only handed out by build, after which the builder copies
+	 * the board before changing it again.
+	 */
+	public static final class Builder {
+
+		/**
+		 * The board the items are placed into.
+		 */
+		private Board board;
+
+		/**
+		 * True once the board has been handed out by build.
+		 */
+		private boolean built;
+
+		/**
+		 * Creates a builder for an empty board.
+		 * @param rows The number of rows the board has.
+		 * @param columns The number of columns the board has.
+		 */
+		public Builder(int rows, int columns) {
+			this.board = new Board(rows, columns);
+		}
+
+		/**
+		 * Creates a builder starting from the items of another board, which
+		 * is left unchanged.
+		 * @param board The board to start from.
+		 */
+		public Builder(Board board) {
+			this.board = board.copyCells();
+		}
+
+		/**
+		 * Places an item on the board being built, replacing whatever was in
+		 * its cells. Items outside the board are ignored, like with setItem.
+		 * @param item The item being placed.
+		 * @return This builder.
+		 */
+		public Builder setItem(BoardItem item) {
+			if (built) {
+				board = board.copyCells();
+				built = false;
+			}
+
+			board.placeItem(item);
+			return this;
+		}
+
+		/**
+		 * Returns the number of rows of the board being built.
+		 * @return The number of rows.
+		 */
+		public int getNumberOfRows() {
+			return board.numberOfRows;
+		}
+
+		/**
+		 * Returns the number of columns of the board being built.
+		 * @return The number of columns.
+		 */
+		public int getNumberOfColumns() {
+			return board.numberOfColumns;
+		}
+
+		/**
+		 * Returns the board holding the items placed so far, in progress.
+		 * @return The board.
+		 */
+		public Board build() {
+			built = true;
+			return board;
+		}
+
+		/**
+		 * Returns the board holding the items placed so far with a gamestate.
+		 * @param gameState The gamestate of the board.
+		 * @return The board.
+		 */
+		public Board build(GameState gameState) {
+			return new Board(build(), gameState);
+		}
+	}
+
+	/**
+	 * Creates a board with its own copy of this board's items, which can be
+	 * changed with placeItem before it is handed out.
+	 * @return The copy, in progress.
+	 */
+	private Board copyCells() {
+		Board board = new Board(this);
+		board.cells = cells.clone();
+		board.codes = codes.clone();
+		board.items = null;
+
+		return board;
+	}
+
+	/**
+	 * Places an item in every cell it covers on this board, the one cell of a
+	 * single item or both cells of a fox.
+	 * @param item The item being placed.
+	 */
+	private void placeItem(BoardItem item) {
 		if (item.coordinate.isLeft()) {
 			Coordinate coordinate = item.coordinate.left().get();
-			modifiedBoard.items = modifiedBoard.items.plus(coordinate, item);
+			placeItem(coordinate, item);
 		}
 
 		if (item.coordinate.isRight()) {
 			Pair<Coordinate,Coordinate> coordinate =
 					item.coordinate.right().get();
 
-			modifiedBoard.items = modifiedBoard.items.plus(coordinate.left(), item);
-			modifiedBoard.items = modifiedBoard.items.plus(coordinate.right(), item);
+			placeItem(coordinate.left(), item);
+			placeItem(coordinate.right(), item);
 		}
+	}
 
-		return modifiedBoard;
+	/**
+	 * Places an item in a single cell of this board, updating the position
+	 * hash, the rabbit counts, the piece lists and the obstacle bitboard with
+	 * the change to that cell only. The static layer is dropped if the cell's
+	 * hole, elevated cell or mushroom changed. Items outside the board are ignored.
+	 * @param coordinate The cell being changed.
+	 * @param item The item placed in the cell.
+	 */
+	private void placeItem(Coordinate coordinate, BoardItem item) {
+		if (isOnBoard(coordinate)) {
+			int cell = coordinate.row * numberOfColumns + coordinate.column;
+			int previousCode = codes[cell];
+			int code = CellCode.of(item, coordinate);
+
+			positionHash ^= Zobrist.key(cell, previousCode);
+			positionHash ^= Zobrist.key(cell, code);
+
+			countRabbits(previousCode, -1);
+			countRabbits(code, 1);
+			updatePieces(cell, previousCode, code);
+
+			if (cells.length <= MAX_BITBOARD_CELLS) {
+				long bit = 1L << cell;
+
+				obstacleBits = CellCode.isObstacle(code) ?
+						obstacleBits | bit : obstacleBits & ~bit;
+			}
+
+			if (StaticLayer.staticCode(previousCode) !=
+					StaticLayer.staticCode(code)) {
+				layer = null;
+			}
+
+			codes[cell] = (byte) code;
+			cells[cell] = item;
+		}
+	}
+
+	/**
+	 * Moves a cell between the piece lists when the kind of piece in it
+	 * changes. The lists are copied the first time this board changes one.
+	 * @param cell The index of the cell being changed.
+	 * @param previousCode The {@link CellCode} the cell had.
+	 * @param code The {@link CellCode} the cell now has.
+	 */
+	private void updatePieces(int cell, int previousCode, int code) {
+		if (getPieceList(previousCode) == getPieceList(code)) {
+			return;
+		}
+
+		if (!ownsPieces) {
+			rabbitCells = new PieceList(rabbitCells);
+			containedRabbitCells = new PieceList(containedRabbitCells);
+			foxHeadCells = new PieceList(foxHeadCells);
+			ownsPieces = true;
+		}
+
+		PieceList previousList = getPieceList(previousCode);
+		PieceList list = getPieceList(code);
+
+		if (previousList != null) {
+			previousList.remove(cell);
+		}
+
+		if (list != null) {
+			list.add(cell);
+		}
+	}
+
+	/**
+	 * Returns the piece list a cell belongs in.
+	 * @param code The {@link CellCode} of the cell.
+	 * @return The list, or null if the cell holds no movable piece.
+	 */
+	private PieceList getPieceList(int code) {
+		if (code == CellCode.RABBIT) {
+			return rabbitCells;
+		}
+
+		if (code == CellCode.HOLE_RABBIT || code == CellCode.ELEVATED_RABBIT) {
+			return containedRabbitCells;
+		}
+
+		if (CellCode.isFoxHead(code)) {
+			return foxHeadCells;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Adds the rabbit held in a cell, if any, to the rabbit counts.
+	 * @param code The {@link CellCode} of the cell.
+	 * @param change 1 if the cell is being filled, -1 if it is being cleared.
+	 */
+	private void countRabbits(int code, int change) {
+		if (code == CellCode.RABBIT || code == CellCode.ELEVATED_RABBIT) {
+			freeRabbits += change;
+		} else if (code == CellCode.HOLE_RABBIT) {
+			rabbitsInHoles += change;
+		}
+	}
+
+	/**
+	 * Returns true if a coordinate lies within the board.
+	 * @param coordinate The coordinate being checked.
+	 * @return True if the coordinate is on the board.
+	 */
+	private boolean isOnBoard(Coordinate coordinate) {
+		return coordinate.row >= 0 && coordinate.row < numberOfRows &&
+				coordinate.column >= 0 && coordinate.column < numberOfColumns;
+	}
+
+	/**
+	 * Returns the Zobrist hash of the position, which is kept up to date as
+	 * items are set so it never needs to be recomputed.
+	 * @return The 64 bit hash of the items in the board.
+	 */
+	public long getPositionHash() {
+		return positionHash;
+	}
+
+	/**
+	 * Returns the number of rabbits that still have to reach a hole, which
+	 * includes rabbits on elevated cells. The board is solved when this is
+	 * zero.
+	 * @return The number of free rabbits.
+	 */
+	public int getFreeRabbitCount() {
+		return freeRabbits;
+	}
+
+	/**
+	 * Returns the number of rabbits that are sitting in holes.
+	 * @return The number of rabbits in holes.
+	 */
+	public int getRabbitsInHolesCount() {
+		return rabbitsInHoles;
+	}
+
+	/**
+	 * Returns the cells holding rabbits that are not in a hole or elevated
+	 * cell.
+	 * @return The cells, in row major order.
+	 */
+	public PieceList getRabbitCells() {
+		return rabbitCells;
+	}
+
+	/**
+	 * Returns the cells of the holes and elevated cells holding a rabbit.
+	 * @return The cells, in row major order.
+	 */
+	public PieceList getContainedRabbitCells() {
+		return containedRabbitCells;
+	}
+
+	/**
+	 * Returns the cells holding the head of a fox.
+	 * @return The cells, in row major order.
+	 */
+	public PieceList getFoxHeadCells() {
+		return foxHeadCells;
+	}
+
+	/**
+	 * Returns the cells that are obstacles as a bitboard, where bit
+	 * row * numberOfColumns + column is set if that cell blocks foxes and
+	 * can be jumped over by rabbits.
+	 * @return The obstacle bitboard, or 0 if the board has more than
+	 * MAX_BITBOARD_CELLS cells.
+	 */
+	public long getObstacleBits() {
+		return obstacleBits;
+	}
+
+	/**
+	 * Returns the holes and elevated cells as a bitboard, laid out like
+	 * {@link #getObstacleBits()}.
+	 * @return The container bitboard, or 0 if the board has more than
+	 * MAX_BITBOARD_CELLS cells.
+	 */
+	public long getContainerBits() {
+		return getStaticLayer().getContainerBits();
+	}
+
+	/**
+	 * Returns the holes, elevated cells and mushrooms of the level. Moving
+	 * rabbits and foxes never changes them, so every position of a game
+	 * shares the same layer.
+	 * @return The static layer of the board.
+	 */
+	public StaticLayer getStaticLayer() {
+		if (layer == null) {
+			layer = new StaticLayer(numberOfRows, numberOfColumns, codes);
+		}
+
+		return layer;
+	}
+
+	/**
+	 * Gets the {@link CellCode} of a cell, given by its index
+	 * row * numberOfColumns + column.
+	 * @param cell The index of the cell.
+	 * @return The code of the cell.
+	 * @throws ArrayIndexOutOfBoundsException If the cell is not on the board.
+	 */
+	public int getCode(int cell) {
+		return codes[cell];
 	}
 
 	/**
 	 * Gets the BoardItem at a specific coordinate.
 	 * @param coordinate The coordinate of the board item.
-	 * @return The board item.
+	 * @return The board item, or null if the coordinate is not on the board.
 	 */
 	public BoardItem getItem(Coordinate coordinate) {
-		return this.items.get(coordinate);
+		if (!isOnBoard(coordinate)) {
+			return null;
+		}
+
+		return cells[coordinate.row * numberOfColumns + coordinate.column];
+	}
+
+	/**
+	 * Gets the BoardItem at a specific row and column.
+	 * @param row The row of the board item.
+	 * @param column The column of the board item.
+	 * @return The board item, or null if the cell is not on the board.
+	 */
+	public BoardItem getItem(int row, int column) {
+		if (row < 0 || row >= numberOfRows || column < 0 ||
+				column >= numberOfColumns) {
+			return null;
+		}
+
+		return cells[row * numberOfColumns + column];
 	}
 
 	/**
-	 * Returns the persistent map containing the items in the board.
+	 * Gets the BoardItem in a cell, given by its index
+	 * row * numberOfColumns + column.
+	 * @param cell The index of the cell.
+	 * @return The board item.
+	 * @throws ArrayIndexOutOfBoundsException If the cell is not on the board.
+	 */
+	public BoardItem getItem(int cell) {
+		return cells[cell];
+	}
+
+	/**
+	 * Returns the persistent map containing the items in the board. The map
+	 * is created the first time it is asked for.
 	 * @return The items in the board.
 	 */
 	public PMap<Coordinate, BoardItem> getItems() {
+		if (items == null) {
+			PMap<Coordinate, BoardItem> map = HashTreePMap.empty();
+
+			for (int row = 0; row < numberOfRows; row++) {
+				for (int column = 0; column < numberOfColumns; column++) {
+					map = map.plus(Coordinate.of(row, column),
+							cells[row * numberOfColumns + column]);
+				}
+			}
+
+			items = map;
+		}
+
 		return items;
 	}
 
 	/**
-	 * Returns the map of items in a specific slice along a column.
+	 * Returns a view of the items in a specific column. The view reads this
+	 * board directly, so nothing is copied.
 	 * @param column The column of the slice.
-	 * @return The map containing the items in that column.
+	 * @return The slice containing the items in that column.
 	 */
-	public PMap<Coordinate, BoardItem> getColumnSlice(int column) {
-		PMap<Coordinate, BoardItem> slice = HashTreePMap.empty();
-
-		for (int row = 0; row < numberOfRows; row++) {
-			Coordinate coordinate = new Coordinate(row, column);
-			slice = slice.plus(coordinate, getItem(coordinate));
-		}
-
-		return slice;
+	public BoardSlice getColumnSlice(int column) {
+		return new BoardSlice(this, false, column);
 	}
 
 	/**
-	 * Returns the map of items in a specific slice along a row.
+	 * Returns a view of the items in a specific row. The view reads this
+	 * board directly, so nothing is copied.
 	 * @param row The row of the slice.
-	 * @return The map containing the items in that row.
+	 * @return The slice containing the items in that row.
 	 */
-	public PMap<Coordinate, BoardItem> getRowSlice(int row) {
-		PMap<Coordinate, BoardItem> slice = HashTreePMap.empty();
-
-		for (int column = 0; column < numberOfColumns; column++) {
-			Coordinate coordinate = new Coordinate(row, column);
-			slice = slice.plus(coordinate, getItem(coordinate));
-		}
-
-		return slice;
+	public BoardSlice getRowSlice(int row) {
+		return new BoardSlice(this, true, row);
 	}
 
 	/**
@@ -208,38 +654,37 @@ public class Board {
 	 */
 	public Board slide(Direction direction, int moveSpaces,
 					   Coordinate coordinate) throws InvalidMoveException {
+		return trySlide(direction, moveSpaces, coordinate).getBoard();
+	}
 
-		Board board = new Board(this);
-		BoardItem item = this.items.get(coordinate);
-
-		//if item is a fox, perform the slide
-		if (item instanceof Fox) {
-			Fox fox = (Fox) item;
-			PMap<Coordinate, BoardItem> slice =
-					board.getSlice(direction, coordinate);
-
-			Pair<Coordinate, Coordinate> originalCoords =
-					Pair.pair(fox.getHead(), fox.getTail());
-
-			EmptyBoardItem emptyHead =
-					new EmptyBoardItem(originalCoords.left());
-
-			EmptyBoardItem emptyTail =
-					new EmptyBoardItem(originalCoords.right());
+	/**
+	 * Attempts to slide a fox in a specific direction without throwing.
+	 * @param direction The direction the fox should slide.
+	 * @param moveSpaces The amount of spaces it should move.
+	 * @param coordinate The coordinate of the fox.
+	 * @return The board with the resulting move, or why it is invalid.
+	 */
+	public MoveResult trySlide(Direction direction, int moveSpaces,
+							   Coordinate coordinate) {
+		BoardItem item = this.getItem(coordinate);
 
-			board = board.setItem(emptyHead);
-			board = board.setItem(emptyTail);
+		if (!(item instanceof Fox)) {
+			return MoveResult.illegal(MoveLegality.NOT_A_FOX);
+		}
 
-			Fox newFox = fox.slide(slice,
-					moveSpaces, direction);
+		Fox fox = (Fox) item;
+		MoveLegality legality = fox.checkSlide(
+				this.getSlice(direction, coordinate), moveSpaces, direction);
 
-			board = board.setItem(newFox);
-		} else {
-			throw new InvalidMoveException("Must be Fox to slide");
+		if (!legality.isLegal()) {
+			return MoveResult.illegal(legality);
 		}
 
-		board = board.updateGameState();
-		return board;
+		Board board = this.setItem(EmptyBoardItem.of(fox.getHead()));
+		board = board.setItem(EmptyBoardItem.of(fox.getTail()));
+		board = board.setItem(fox.moved(moveSpaces, direction));
+
+		return MoveResult.legal(board.updateGameState());
 	}
 
 	/**
@@ -251,54 +696,57 @@ public class Board {
 	 */
 	public Board jump(Direction direction, Coordinate coordinate)
 			throws InvalidMoveException {
+		return tryJump(direction, coordinate).getBoard();
+	}
 
-		Board board = new Board(this);
-		BoardItem item = this.items.get(coordinate);
+	/**
+	 * Attempts to jump a rabbit at a location on the board without throwing.
+	 * @param direction The direction the rabbit should jump.
+	 * @param coordinate The coordinate of the rabbit, or the hole it is in.
+	 * @return The resulting board after the move, or why it is invalid.
+	 */
+	public MoveResult tryJump(Direction direction, Coordinate coordinate) {
+		BoardItem item = this.getItem(coordinate);
+		BoardSlice slice = this.getSlice(direction, coordinate);
 		Either<Rabbit, ContainerItem> rabbitOrHole;
-
-		PMap<Coordinate, BoardItem> slice = this.getSlice(direction,
-				coordinate);
+		Board board;
 
 		if (item instanceof Rabbit) {
 			Rabbit rabbit = (Rabbit) item;
-			rabbitOrHole = rabbit.jump(direction, slice);
+			MoveLegality legality = rabbit.checkJump(direction, slice);
 
-			EmptyBoardItem empty = new EmptyBoardItem(coordinate);
-			board = board.setItem(empty);
-
-			if (rabbitOrHole.isLeft()) {
-				board = board.setItem(rabbitOrHole.left().get());
-			} else {
-				board = board.setItem(rabbitOrHole.right().get());
+			if (!legality.isLegal()) {
+				return MoveResult.illegal(legality);
 			}
+
+			rabbitOrHole = rabbit.land(direction, slice);
+			board = this.setItem(EmptyBoardItem.of(coordinate));
 		} else if (item instanceof ContainerItem) {
 			ContainerItem containerItem = (ContainerItem) item;
+			MoveLegality legality = containerItem.checkJump(direction, slice);
+
+			if (!legality.isLegal()) {
+				return MoveResult.illegal(legality);
+			}
 
 			Pair<ContainerItem, Either<Rabbit, ContainerItem>> holeAndJumped
-					= containerItem.jump(direction, slice);
+					= containerItem.land(direction, slice);
 
 			rabbitOrHole = holeAndJumped.right();
 
 			// sets empty hole
-			board = board.setItem(holeAndJumped.left());
-
-			// if its a rabbit
-			if (rabbitOrHole.isLeft()) {
-				Rabbit newRabbit = rabbitOrHole.left().get();
-				board = board.setItem(newRabbit);
-			}
+			board = this.setItem(holeAndJumped.left());
+		} else {
+			return MoveResult.illegal(MoveLegality.NOT_A_RABBIT);
+		}
 
-			// if its a hole
-			else {
-				ContainerItem newContainerItem = rabbitOrHole.right().get();
-				board = board.setItem(newContainerItem);
-			}
+		if (rabbitOrHole.isLeft()) {
+			board = board.setItem(rabbitOrHole.left().get());
 		} else {
-			throw new InvalidMoveException("Must be a rabbit to jump!");
+			board = board.setItem(rabbitOrHole.right().get());
 		}
 
-		board = board.updateGameState();
-		return board;
+		return MoveResult.legal(board.updateGameState());
 	}
 
 	/**
@@ -307,111 +755,150 @@ public class Board {
 	 * @param itemDestination The coordinate the item is moved to.
 	 * @return The resulting board.
 	 * @throws InvalidMoveException If the move is invalid.
+	 * @throws IllegalArgumentException If the destination is the same
+	 * coordinate or is not in the same row or column.
 	 */
 	public Board move(Coordinate itemSelected, Coordinate itemDestination)
 			throws InvalidMoveException {
-		Coordinate deltaCoordinate = this.computeDelta(itemSelected,
-				itemDestination);
-		Direction direction = this.getDirectionFromDestination(deltaCoordinate);
-		BoardItem item = this.getItem(itemSelected);
-		Board board = this;
+		MoveResult result = this.tryMove(itemSelected, itemDestination);
 
-		if (item instanceof Rabbit || item instanceof ContainerItem)  {
-			board = this.jump(direction, itemSelected);
-			return board;
+		if (result.legality == MoveLegality.SAME_POSITION ||
+				result.legality == MoveLegality.NOT_IN_LINE) {
+			throw new IllegalArgumentException(result.legality.message);
 		}
-		if (item instanceof Fox) {
-			int moveSpaces = deltaCoordinate.row ;
-			if (deltaCoordinate.row == 0) {
-				moveSpaces = deltaCoordinate.column;
-			}
 
-			board = this.slide(direction, Math.abs(moveSpaces), itemSelected);
-			return board;
-		}
-		throw new InvalidMoveException("Invalid move!");
+		return result.getBoard();
 	}
 
 	/**
-	 * Returns the distance coordinate between two different coordinates.
-	 * @param initial     The intial coordinate that the movement starts from.
-	 * @param destination The final coordinate that it should end up at.
-	 * @return
+	 * Attempts to move an item at a specific coordinate to another
+	 * coordinate without throwing, so invalid moves cost no more than valid
+	 * ones.
+	 * @param itemSelected The coordinate that the item is moved from.
+	 * @param itemDestination The coordinate the item is moved to.
+	 * @return The resulting board, or why the move is invalid.
 	 */
-	private Coordinate computeDelta(Coordinate initial,
-									Coordinate destination) {
-		int row = destination.row - initial.row;
-		int column = destination.column - initial.column;
+	public MoveResult tryMove(Coordinate itemSelected,
+							  Coordinate itemDestination) {
+		int rowDelta = itemDestination.row - itemSelected.row;
+		int columnDelta = itemDestination.column - itemSelected.column;
+
+		if (rowDelta == 0 && columnDelta == 0) {
+			return MoveResult.illegal(MoveLegality.SAME_POSITION);
+		}
+
+		if (rowDelta != 0 && columnDelta != 0) {
+			return MoveResult.illegal(MoveLegality.NOT_IN_LINE);
+		}
+
+		Direction direction = this.getDirectionFromDestination(rowDelta,
+				columnDelta);
+		BoardItem item = this.getItem(itemSelected);
+
+		if (item instanceof Rabbit || item instanceof ContainerItem)  {
+			return this.tryJump(direction, itemSelected);
+		}
+		if (item instanceof Fox) {
+			int moveSpaces = rowDelta == 0 ? columnDelta : rowDelta;
 
-		return new Coordinate(row, column);
+			return this.trySlide(direction, Math.abs(moveSpaces), itemSelected);
+		}
+		return MoveResult.illegal(MoveLegality.NOT_MOVABLE);
 	}
 
 	/**
-	 * Returns the direction of a move based on a coordinate containing the
-	 * destination's distance.
-	 * @param deltaDistance Coordinate of the distance between the start and end point
+	 * Returns the direction of a move along a row or column.
+	 * @param rowDelta The rows between the start and end point.
+	 * @param columnDelta The columns between the start and end point.
 	 * @return The direction desired
-	 * @throws IllegalArgumentException if the direction is invalid
-	 */
-	private Direction getDirectionFromDestination(Coordinate deltaDistance) {
-
-		if (deltaDistance.row == 0 && deltaDistance.column == 0) {
-			throw new IllegalArgumentException("Cannot move to the same " +
-					"position");
-		} else if (!(deltaDistance.row != 0 && deltaDistance.column != 0)) {
-			if (deltaDistance.row > 0) { //destination is below
-				return Direction.DOWN;
-			} else if (deltaDistance.row < 0) { //destination is above
-				return Direction.UP;
-			} else if (deltaDistance.column > 0) { //destination is to the right
-				return Direction.RIGHT;
-			} else { //destination is the the left
-				return Direction.LEFT;
-			}
+	 */
+	private Direction getDirectionFromDestination(int rowDelta,
+												  int columnDelta) {
+		if (rowDelta > 0) { //destination is below
+			return Direction.DOWN;
+		} else if (rowDelta < 0) { //destination is above
+			return Direction.UP;
+		} else if (columnDelta > 0) { //destination is to the right
+			return Direction.RIGHT;
+		} else { //destination is the the left
+			return Direction.LEFT;
 		}
-
-		throw new IllegalArgumentException("Invalid direction");
 	}
 
 	/**
-	 * Updates the gamestate to won if there are no rabbits remaining on the board.
+	 * Applies a move that is already known to be legal, such as one
+	 * generated by the solver, without checking it. The piece is placed at
+	 * its destination in one step and only the cells that change are
+	 * written, so the cost does not depend on how far the piece moves.
+	 * Applying an illegal move gives an undefined board.
+	 * @param itemSelected The coordinate of the rabbit, the hole or elevated
+	 *                     cell holding it, or either end of a fox.
+	 * @param itemDestination The coordinate the rabbit lands on, or where
+	 *                        the selected end of the fox ends up.
+	 * @return The resulting board.
 	 */
-	public Board updateGameState() {
-		for (int row = 0; row < this.numberOfRows; row++) {
-			for (int column = 0; column < this.numberOfColumns; column++) {
-				// make sure there are no top level rabbits
-				if (this.items.get(new Coordinate(row, column)) instanceof Rabbit) {
-					GameState currentGameState = GameState.IN_PROGRESS;
+	public Board applyUnchecked(Coordinate itemSelected,
+								Coordinate itemDestination) {
+		BoardItem item = this.getItem(itemSelected);
+		StaticLayer layer = this.getStaticLayer();
+		Board board = this.copyCells();
 
-					Board board = new Board(this, currentGameState);
+		if (item instanceof Fox) {
+			Fox fox = (Fox) item;
+			int rowDelta = itemDestination.row - itemSelected.row;
+			int columnDelta = itemDestination.column - itemSelected.column;
+			Coordinate head = fox.getHead();
+			Coordinate tail = fox.getTail();
+			Fox newFox = new Fox(Pair.pair(
+					Coordinate.of(head.row + rowDelta, head.column + columnDelta),
+					Coordinate.of(tail.row + rowDelta, tail.column + columnDelta)));
+
+			board.placeItem(head, EmptyBoardItem.of(head));
+			board.placeItem(tail, EmptyBoardItem.of(tail));
+			board.placeItem(newFox.getHead(), newFox);
+			board.placeItem(newFox.getTail(), newFox);
+		} else {
+			int from = itemSelected.row * numberOfColumns + itemSelected.column;
+			int to = itemDestination.row * numberOfColumns +
+					itemDestination.column;
+
+			if (layer.isHole(from)) {
+				board.placeItem(itemSelected, Hole.empty(itemSelected));
+			} else if (layer.isElevated(from)) {
+				board.placeItem(itemSelected,
+						ElevatedBoardItem.empty(itemSelected));
+			} else {
+				board.placeItem(itemSelected,
+						EmptyBoardItem.of(itemSelected));
+			}
 
-					return board;
-				}
-				// make sure there are no rabbits inside elevated positions
-				else if (this.items.get(new Coordinate(row, column)) instanceof ElevatedBoardItem) {
-					ElevatedBoardItem elevatedBoardItem = (ElevatedBoardItem)
-							this.items.get(new Coordinate(row, column));
-					if (elevatedBoardItem.containingItem.isPresent()) {
-						Containable containable =
-								elevatedBoardItem.containingItem.get();
-
-						if (containable instanceof Rabbit) {
-							GameState currentGameState = GameState.IN_PROGRESS;
-
-							Board board = new Board(this, currentGameState);
-
-							return board;
-						}
-					}
-				}
+			Rabbit rabbit = new Rabbit(itemDestination);
+
+			if (layer.isHole(to)) {
+				board.placeItem(itemDestination,
+						new Hole(itemDestination, Optional.of(rabbit)));
+			} else if (layer.isElevated(to)) {
+				board.placeItem(itemDestination, new ElevatedBoardItem(
+						itemDestination, Optional.of(rabbit)));
+			} else {
+				board.placeItem(itemDestination, rabbit);
 			}
 		}
 
-		GameState currentGameState = GameState.SOLVED;
+		return board.updateGameState();
+	}
 
-		Board board = new Board(this, currentGameState);
+	/**
+	 * Updates the gamestate to won if there are no rabbits remaining on the
+	 * board. The rabbits are counted as cells change, so this takes constant
+	 * time.
+	 */
+	public Board updateGameState() {
+		if (freeRabbits > 0) {
+			return new Board(this, GameState.IN_PROGRESS);
+		}
 
-		return board;
+		return new Board(this, GameState.SOLVED);
 	}
 
 	/**
@@ -466,7 +953,7 @@ public class Board {
 
 			str += "" + (row + 1);
 			for (int column = 0; column < numberOfColumns; column++) {
-				BoardItem item = getItem(new Coordinate(row, column));
+				BoardItem item = getItem(row, column);
 
 				str += " | ";
 				//test code
@@ -495,7 +982,10 @@ public class Board {
 	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(numberOfRows, numberOfColumns, items, currentGameState);
+		int result = Long.hashCode(positionHash);
+		result = 31 * result + numberOfRows;
+		result = 31 * result + numberOfColumns;
+		return 31 * result + currentGameState.ordinal();
 	}
 
 	/**
@@ -514,6 +1004,11 @@ public class Board {
 
 		Board board = (Board) o;
 
+		// Boards with different hashes always have a different item somewhere
+		if (this.positionHash != board.positionHash) {
+			return false;
+		}
+
 		if ((this.numberOfRows == board.numberOfRows) &&
 				(this.numberOfColumns == board.numberOfColumns) && (this.currentGameState == board.currentGameState)){
 			return this.hasSameContents(board);
@@ -530,48 +1025,110 @@ public class Board {
 	 * @return
 	 */
 	private boolean hasSameContents(Board board) {
-		for (int i = 0; i < numberOfRows; i++){
-			for (int j = 0; j < numberOfColumns; j++){
-				try {
-					BoardItem thisBoardItem = this.getItem(new Coordinate(i,j));
-					BoardItem compareBoardItem = board.getItem(new Coordinate(i,j));
-					if (!thisBoardItem.equals(compareBoardItem)){
-						return false;
-					}
-				}
-				catch(Exception e){
-					return false;
-				}
+		if (this.cells == board.cells) {
+			return true;
+		}
+
+		for (int cell = 0; cell < cells.length; cell++) {
+			if (!cells[cell].equals(board.cells[cell])) {
+				return false;
 			}
 		}
 
 		return true;
 	}
 
+	/**
+	 * Returns the board in a one line notation, which can be read back with
+	 * {@link #fromNotation(CharSequence)}. Rows are separated by '/' from
+	 * the top row down, and runs of empty cells are written as their length.
+	 * The other cells are R for a rabbit, M for a mushroom, H for a hole, U
+	 * for an elevated cell, Hr, Hm, Ur and Um for a hole or elevated cell
+	 * holding a rabbit or mushroom, F^, Fv, F&lt; and F&gt; for the head of
+	 * a fox with an arrow pointing at its tail, and f for the tail. The
+	 * default board is "HmfU1Hr/1F^1M1/Ur1H1U/2F&gt;f1/H1Ur1H". Only boards
+	 * with between 1 and {@link BinaryLevel#MAX_SIZE} rows and columns can
+	 * be read back.
+	 * @return The notation of the board.
+	 */
+	public String toNotation() {
+		return BoardNotation.format(this);
+	}
+
+	/**
+	 * Reads a board from its one line notation, see {@link #toNotation()}.
+	 * @param notation The notation of the board.
+	 * @return The board, in progress.
+	 * @throws IllegalArgumentException If the notation is not a valid board,
+	 * including foxes whose head does not point at their own tail, empty
+	 * rows and boards of more than {@link BinaryLevel#MAX_SIZE} rows or
+	 * columns.
+	 */
+	public static Board fromNotation(CharSequence notation) {
+		return BoardNotation.parse(notation);
+	}
+
 	/**
 	 * Will return the XML representation of the entire board and all the items
-	 * contained in the board.
+	 * contained in the board. Unlike {@link #writeXML(Writer)} the board's
+	 * size is left out.
 	 * @return the XML representation of the whole board.
 	 */
 	public String toXML() {
-		String xml = "<Board>";
-
-		HashSet<BoardItem> items = new HashSet<>();
-
-		//iterate through the map containing the items on the board.
-		for (Coordinate coordinate : this.items.keySet()) {
-			//remove duplicates if the item has more than 1 coordinate.
-			items.add(this.items.get(coordinate));
+		StringWriter writer = new StringWriter();
+
+		try {
+			writer.write("<Board>");
+			writeItemsXML(writer);
+			writer.write("</Board>");
+		} catch (IOException e) {
+			// A StringWriter never fails
+			throw new UncheckedIOException(e);
 		}
 
-		//iterate through the set containing the items on the board removing
-		for (BoardItem item : items) {
-			//append the string representation of the items on the board.
-			xml = xml + item.toXML();
-		}
+		return writer.toString();
+	}
 
-		xml = xml + "</Board>";
+	/**
+	 * Writes the XML representation of the board, with its number of rows
+	 * and columns, to a writer one item at a time.
+	 * @param writer The writer the XML is written to.
+	 * @throws IOException If the writer fails.
+	 */
+	public void writeXML(Writer writer) throws IOException {
+		writer.write("<Board rows=\"");
+		writer.write(Integer.toString(numberOfRows));
+		writer.write("\" columns=\"");
+		writer.write(Integer.toString(numberOfColumns));
+		writer.write("\">");
+		writeItemsXML(writer);
+		writer.write("</Board>");
+	}
+
+	/**
+	 * Writes the XML of every item on the board in row major cell order. A
+	 * fox is written once, at the first of its two cells.
+	 * @param writer The writer the XML is written to.
+	 * @throws IOException If the writer fails.
+	 */
+	private void writeItemsXML(Writer writer) throws IOException {
+		for (int cell = 0; cell < cells.length; cell++) {
+			BoardItem item = cells[cell];
+
+			if (item.coordinate.isRight()) {
+				Pair<Coordinate, Coordinate> coordinates =
+						item.coordinate.right().get();
+				int head = coordinates.left().row * numberOfColumns +
+						coordinates.left().column;
+				int tail = coordinates.right().row * numberOfColumns +
+						coordinates.right().column;
+
+				if (cell != Math.min(head, tail)) {
+					continue;
+				}
+			}
 
-		return xml;
+			item.writeXML(writer);
+		}
 	}
 }
@@ -6,12 +6,83 @@ import java.util.List;
 /**
  * Creates and manages the history of the board's moves by serializing its states.
  * Has options to undo and redo, recalling old board states that were serialized.
+ *
+ * Every state is stored as the cells that changed since the state before
+ * it, with both their old and new contents, and every SNAPSHOT_INTERVAL
+ * states also as a packed copy of the whole board. The current board is
+ * kept, so undo and redo only apply the changes of a single state to it.
+ * A state is only rebuilt from the snapshot before it after the current
+ * move is set directly, which applies fewer than SNAPSHOT_INTERVAL changes.
+ * Once the history holds more than its maximum number of states the oldest
+ * are forgotten.
  */
 public class BoardHistory {
+
+    /**
+     * The number of states between full snapshots of the board.
+     */
+    public static final int SNAPSHOT_INTERVAL = 32;
+
+    /**
+     * The number of states kept by a history created without a maximum.
+     */
+    public static final int DEFAULT_MAX_STATES = 4096;
+
+    /**
+     * Mask selecting a single code of a change.
+     */
+    private static final int CODE_MASK = (1 << CellCode.BITS) - 1;
+
+    /**
+     * A state of the board in the history.
+     */
+    private static final class State {
+
+        /**
+         * The whole board, or null if the state is only stored as changes.
+         */
+        private final PackedBoard snapshot;
+
+        /**
+         * The cells that changed since the previous state, each stored as
+         * cell << 2 * CellCode.BITS | old code << CellCode.BITS | new code,
+         * or null if the state can only be rebuilt from its snapshot.
+         */
+        private final int[] changes;
+
+        /**
+         * The gamestate of the board.
+         */
+        private final GameState gameState;
+
+        /**
+         * Creates a state.
+         * @param snapshot The whole board, or null.
+         * @param changes The changed cells, or null if there is a snapshot.
+         * @param gameState The gamestate of the board.
+         */
+        private State(PackedBoard snapshot, int[] changes,
+                      GameState gameState) {
+            this.snapshot = snapshot;
+            this.changes = changes;
+            this.gameState = gameState;
+        }
+    }
+
+    /**
+     * The states of the board, oldest first.
+     */
+    private final List<State> boardHistory;
+
+    /**
+     * The most states the history keeps.
+     */
+    private final int maxStates;
+
     /**
-     * The list containing the old boards.
+     * The board of the current move, or null if it has to be rebuilt.
      */
-    private List<Board> boardHistory;
+    private Board currentBoard;
 
     /**
      * The current move that the board is on.
@@ -32,15 +103,35 @@ public class BoardHistory {
      */
     public void setCurrentMove(int currentMove) {
         this.currentMove = currentMove;
+        this.currentBoard = null;
     }
 
     /**
      * Creates a move history, taking in an initial board to set as its first state.
+     * @param board The initial board.
      */
     public BoardHistory(Board board) {
-        boardHistory = new ArrayList<>();
-        boardHistory.add(board);
-        currentMove = 0;
+        this(board, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Creates a move history keeping at most a number of states.
+     * @param board The initial board.
+     * @param maxStates The most states kept, older states are forgotten.
+     * @throws IllegalArgumentException If maxStates is not larger than
+     * SNAPSHOT_INTERVAL.
+     */
+    public BoardHistory(Board board, int maxStates) {
+        if (maxStates <= SNAPSHOT_INTERVAL) {
+            throw new IllegalArgumentException("A history must keep more " +
+                    "than " + SNAPSHOT_INTERVAL + " states");
+        }
+
+        this.boardHistory = new ArrayList<>();
+        this.maxStates = maxStates;
+        this.boardHistory.add(snapshot(board));
+        this.currentBoard = board;
+        this.currentMove = 0;
     }
 
     /**
@@ -48,14 +139,37 @@ public class BoardHistory {
      * @param boardState The board being added to the history.
      */
     public void addState(Board boardState) {
+        Board previous = getBoard(currentMove);
+
         currentMove++;
-        if (!(boardHistory.size() == currentMove)) {
-            for (int i = boardHistory.size() - 1; i >= currentMove; i--){
-                boardHistory.remove(i);
-            }
+
+        // Adding a state after undoing forgets the undone states
+        boardHistory.subList(currentMove, boardHistory.size()).clear();
+
+        if (previous.numberOfRows != boardState.numberOfRows ||
+                previous.numberOfColumns != boardState.numberOfColumns) {
+            boardHistory.add(snapshot(boardState));
+        } else {
+            boardHistory.add(new State(currentMove % SNAPSHOT_INTERVAL == 0 ?
+                    new PackedBoard(boardState) : null,
+                    changes(previous, boardState),
+                    boardState.currentGameState));
         }
 
-        boardHistory.add(boardState);
+        currentBoard = boardState;
+
+        // Forget the oldest states up to the next snapshot, which then
+        // becomes the first state
+        if (boardHistory.size() > maxStates) {
+            int forgotten = 1;
+
+            while (boardHistory.get(forgotten).snapshot == null) {
+                forgotten++;
+            }
+
+            boardHistory.subList(0, forgotten).clear();
+            currentMove -= forgotten;
+        }
     }
 
     /**
@@ -63,16 +177,20 @@ public class BoardHistory {
      * @return The board representing the previous state.
      */
     public Board getUndoBoard(){
-
-        Board lastBoard;
         if (currentMove != 0){
-            lastBoard = boardHistory.get(currentMove - 1);
+            State undone = boardHistory.get(currentMove);
+
             currentMove--;
+
+            if (currentBoard != null && undone.changes != null) {
+                currentBoard = applyChanges(currentBoard, undone.changes,
+                        false, boardHistory.get(currentMove).gameState);
+            } else {
+                currentBoard = null;
+            }
         }
-        else {
-            lastBoard = boardHistory.get(currentMove);
-        }
-        return lastBoard;
+
+        return getBoard(currentMove);
     }
 
     /**
@@ -83,8 +201,125 @@ public class BoardHistory {
         //Increments the move unless it is already at the end of the move list
         if (!(boardHistory.size() == currentMove + 1)) {
             currentMove++;
+
+            State redone = boardHistory.get(currentMove);
+
+            if (currentBoard != null && redone.changes != null) {
+                currentBoard = applyChanges(currentBoard, redone.changes,
+                        true, redone.gameState);
+            } else {
+                currentBoard = null;
+            }
+        }
+
+        return getBoard(currentMove);
+    }
+
+    /**
+     * Returns the number of states in the history.
+     * @return The number of states, at most the maximum of the history.
+     */
+    public int size() {
+        return boardHistory.size();
+    }
+
+    /**
+     * Returns the board of a state, rebuilt from the snapshot before it
+     * unless it is the current board.
+     * @param move The index of the state.
+     * @return The board.
+     */
+    private Board getBoard(int move) {
+        if (move == currentMove && currentBoard != null) {
+            return currentBoard;
+        }
+
+        int first = move;
+
+        while (boardHistory.get(first).snapshot == null) {
+            first--;
+        }
+
+        Board board = boardHistory.get(first).snapshot.toBoard();
+
+        for (int index = first + 1; index <= move; index++) {
+            State state = boardHistory.get(index);
+            board = applyChanges(board, state.changes, true, state.gameState);
+        }
+
+        if (move == currentMove) {
+            currentBoard = board;
+        }
+
+        return board;
+    }
+
+    /**
+     * Creates a state holding a whole board.
+     * @param board The board.
+     * @return The state.
+     */
+    private static State snapshot(Board board) {
+        return new State(new PackedBoard(board), null, board.currentGameState);
+    }
+
+    /**
+     * Returns the cells that differ between two boards of the same size.
+     * @param previous The earlier board.
+     * @param board The later board.
+     * @return The changed cells, as
+     * cell << 2 * CellCode.BITS | old code << CellCode.BITS | new code.
+     */
+    private static int[] changes(Board previous, Board board) {
+        int cellCount = board.numberOfRows * board.numberOfColumns;
+        int count = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (previous.getCode(cell) != board.getCode(cell)) {
+                count++;
+            }
+        }
+
+        int[] changes = new int[count];
+        count = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (previous.getCode(cell) != board.getCode(cell)) {
+                changes[count++] = cell << 2 * CellCode.BITS |
+                        previous.getCode(cell) << CellCode.BITS |
+                        board.getCode(cell);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Applies the changes of a state to the board before it, or undoes them
+     * from the board of the state. Fox tails are skipped since setting the
+     * fox's head places the whole fox.
+     * @param board The board the changes are applied to.
+     * @param changes The changes of the state.
+     * @param forward True to apply the new codes, false to restore the old.
+     * @param gameState The gamestate of the resulting board.
+     * @return The resulting board.
+     */
+    private static Board applyChanges(Board board, int[] changes,
+                                      boolean forward, GameState gameState) {
+        Board.Builder builder = new Board.Builder(board);
+
+        for (int change : changes) {
+            int cell = change >>> 2 * CellCode.BITS;
+            int code = forward ? change & CODE_MASK :
+                    (change >>> CellCode.BITS) & CODE_MASK;
+
+            if (code != CellCode.FOX_TAIL) {
+                builder.setItem(CellCode.toItem(code, Coordinate.of(
+                        cell / board.numberOfColumns,
+                        cell % board.numberOfColumns)));
+            }
         }
 
-        return boardHistory.get(currentMove);
+        return builder.build(gameState);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,12 @@ import io.atlassian.fugue.Either;
 import io.atlassian.fugue.Pair;
 import project.tui.ItemUIRepresentation;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
 /**
  * Represents any item on the board, which can be extended for specific items.
  */
@@ -36,11 +42,29 @@ public abstract class BoardItem implements MaybeObstacle {
     }
 
     /**
-     * Generic to XML declaration. Will return the XML representation of the
-     * board item.
+     * Writes the XML representation of the board item to a writer, without
+     * building it as a string first.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
+     */
+    public abstract void writeXML(Writer writer) throws IOException;
+
+    /**
+     * Will return the XML representation of the board item.
      * @return the XML representation of the board item.
      */
-    public abstract String toXML();
+    public String toXML() {
+        StringWriter writer = new StringWriter();
+
+        try {
+            writeXML(writer);
+        } catch (IOException e) {
+            // A StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+
+        return writer.toString();
+    }
 
     /**
      * Returns the item's string representation.
@@ -51,6 +75,16 @@ public abstract class BoardItem implements MaybeObstacle {
         return this.uIRepresentation.getRepresentation();
     }
 
+    /**
+     * Returns the hashcode of the item, consistent with the equals methods of
+     * every subclass (same class and same coordinates).
+     * @return The item's hashcode.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getClass(), this.coordinate);
+    }
+
     /**
      * Checks if this item is equal to another.
      * @param o The object being compared.
@@ -0,0 +1,268 @@
+package project.model;
+
+/**
+ * Reads and writes the one line notation of a board, see
+ * {@link Board#toNotation()}. Both directions work on the board's cell codes
+ * and a single character buffer, without splitting the line or creating a
+ * string per cell.
+ */
+final class BoardNotation {
+
+    /**
+     * Separates the rows of the board.
+     */
+    private static final char ROW_SEPARATOR = '/';
+
+    /**
+     * The notation of every cell code, empty cells are written as runs.
+     */
+    private static final String[] TOKENS = new String[CellCode.COUNT];
+
+    static {
+        TOKENS[CellCode.RABBIT] = "R";
+        TOKENS[CellCode.MUSHROOM] = "M";
+        TOKENS[CellCode.HOLE] = "H";
+        TOKENS[CellCode.HOLE_RABBIT] = "Hr";
+        TOKENS[CellCode.HOLE_MUSHROOM] = "Hm";
+        TOKENS[CellCode.ELEVATED] = "U";
+        TOKENS[CellCode.ELEVATED_RABBIT] = "Ur";
+        TOKENS[CellCode.ELEVATED_MUSHROOM] = "Um";
+        TOKENS[CellCode.FOX_TAIL] = "f";
+        TOKENS[CellCode.FOX_HEAD_TAIL_UP] = "F^";
+        TOKENS[CellCode.FOX_HEAD_TAIL_DOWN] = "Fv";
+        TOKENS[CellCode.FOX_HEAD_TAIL_LEFT] = "F<";
+        TOKENS[CellCode.FOX_HEAD_TAIL_RIGHT] = "F>";
+    }
+
+    /**
+     * The notation is only read and written through the static methods.
+     */
+    private BoardNotation() {
+    }
+
+    /**
+     * Writes the notation of a board.
+     * @param board The board being written.
+     * @return The notation.
+     */
+    static String format(Board board) {
+        StringBuilder notation = new StringBuilder(
+                board.numberOfRows * (board.numberOfColumns + 1));
+
+        for (int row = 0; row < board.numberOfRows; row++) {
+            if (row > 0) {
+                notation.append(ROW_SEPARATOR);
+            }
+
+            int emptyCells = 0;
+
+            for (int column = 0; column < board.numberOfColumns; column++) {
+                int code = board.getCode(row * board.numberOfColumns + column);
+
+                if (code == CellCode.EMPTY) {
+                    emptyCells++;
+                    continue;
+                }
+
+                if (emptyCells > 0) {
+                    notation.append(emptyCells);
+                    emptyCells = 0;
+                }
+
+                notation.append(TOKENS[code]);
+            }
+
+            if (emptyCells > 0) {
+                notation.append(emptyCells);
+            }
+        }
+
+        return notation.toString();
+    }
+
+    /**
+     * Reads a board from its notation.
+     * @param notation The notation of the board.
+     * @return The board, in progress.
+     * @throws IllegalArgumentException If the notation is not a valid board,
+     * or the board has no cells or more than {@link BinaryLevel#MAX_SIZE}
+     * rows or columns.
+     */
+    static Board parse(CharSequence notation) {
+        int rows = 1;
+
+        for (int i = 0; i < notation.length(); i++) {
+            if (notation.charAt(i) == ROW_SEPARATOR) {
+                rows++;
+            }
+        }
+
+        // Check the size before allocating anything for the cells, so a
+        // short notation cannot ask for a huge board
+        if (rows > BinaryLevel.MAX_SIZE) {
+            throw new IllegalArgumentException("\"" + notation + "\" has " +
+                    "more than " + BinaryLevel.MAX_SIZE + " rows");
+        }
+
+        // The first row gives the number of columns, count it on its own
+        int columns = readRow(notation, 0, null, 0, BinaryLevel.MAX_SIZE);
+
+        if (columns == 0) {
+            throw new IllegalArgumentException("\"" + notation +
+                    "\" has an empty row");
+        }
+
+        byte[] codes = new byte[rows * columns];
+        int index = 0;
+
+        for (int row = 0; row < rows; row++) {
+            int cells = readRow(notation, index, codes, row * columns,
+                    columns);
+
+            if (cells != columns) {
+                throw new IllegalArgumentException("Row " + row + " of \"" +
+                        notation + "\" does not have " + columns + " cells");
+            }
+
+            while (index < notation.length() &&
+                    notation.charAt(index) != ROW_SEPARATOR) {
+                index++;
+            }
+
+            index++;
+        }
+
+        // The builder drops the parts of a fox that are off the board and
+        // lets heads share a tail, so check every head has its own tail
+        // beside it, and every tail a head, before building
+        int brokenFox = CellCode.findBrokenFox(rows, columns,
+                cell -> codes[cell]);
+
+        if (brokenFox != -1) {
+            throw new IllegalArgumentException("Cell " + brokenFox + " of \"" +
+                    notation + "\" holds half a fox");
+        }
+
+        Board.Builder builder = new Board.Builder(rows, columns);
+
+        for (int cell = 0; cell < codes.length; cell++) {
+            if (codes[cell] != CellCode.EMPTY &&
+                    codes[cell] != CellCode.FOX_TAIL) {
+                builder.setItem(CellCode.toItem(codes[cell],
+                        Coordinate.of(cell / columns, cell % columns)));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Reads the cells of a row, up to the next row separator or the end of
+     * the notation.
+     * @param notation The notation of the board.
+     * @param index The index of the first character of the row.
+     * @param codes The codes of the board, or null to only count the cells.
+     * @param firstCell The index in codes of the first cell of the row.
+     * @param columns The most cells the row can have.
+     * @return The number of cells in the row.
+     * @throws IllegalArgumentException If the row contains an unknown token
+     * or more than columns cells.
+     */
+    private static int readRow(CharSequence notation, int index, byte[] codes,
+                               int firstCell, int columns) {
+        int cells = 0;
+
+        while (index < notation.length() &&
+                notation.charAt(index) != ROW_SEPARATOR) {
+            char token = notation.charAt(index);
+            int count = 1;
+            int length = 1;
+            int code;
+
+            if (token >= '1' && token <= '9') {
+                code = CellCode.EMPTY;
+                count = 0;
+                length = 0;
+
+                while (index + length < notation.length() &&
+                        Character.isDigit(notation.charAt(index + length))) {
+                    if (count > (Integer.MAX_VALUE - 9) / 10) {
+                        throw new IllegalArgumentException("Run too long at " +
+                                index + " of \"" + notation + "\"");
+                    }
+
+                    count = count * 10 + notation.charAt(index + length) - '0';
+                    length++;
+                }
+            } else {
+                code = readToken(notation, index);
+                length = TOKENS[code].length();
+            }
+
+            if (cells + count > columns) {
+                throw new IllegalArgumentException("Row at " + index +
+                        " of \"" + notation + "\" has more than " + columns +
+                        " cells");
+            }
+
+            if (codes != null) {
+                for (int cell = 0; cell < count; cell++) {
+                    codes[firstCell + cells + cell] = (byte) code;
+                }
+            }
+
+            cells += count;
+            index += length;
+        }
+
+        return cells;
+    }
+
+    /**
+     * Reads the token of a single cell that is not empty.
+     * @param notation The notation of the board.
+     * @param index The index of the first character of the token.
+     * @return The {@link CellCode} of the cell.
+     * @throws IllegalArgumentException If there is no token at the index.
+     */
+    private static int readToken(CharSequence notation, int index) {
+        char token = notation.charAt(index);
+        char next = index + 1 < notation.length() ?
+                notation.charAt(index + 1) : ROW_SEPARATOR;
+
+        switch (token) {
+            case 'R':
+                return CellCode.RABBIT;
+            case 'M':
+                return CellCode.MUSHROOM;
+            case 'f':
+                return CellCode.FOX_TAIL;
+            case 'H':
+                return next == 'r' ? CellCode.HOLE_RABBIT :
+                        next == 'm' ? CellCode.HOLE_MUSHROOM : CellCode.HOLE;
+            case 'U':
+                return next == 'r' ? CellCode.ELEVATED_RABBIT :
+                        next == 'm' ? CellCode.ELEVATED_MUSHROOM :
+                                CellCode.ELEVATED;
+            case 'F':
+                switch (next) {
+                    case '^':
+                        return CellCode.FOX_HEAD_TAIL_UP;
+                    case 'v':
+                        return CellCode.FOX_HEAD_TAIL_DOWN;
+                    case '<':
+                        return CellCode.FOX_HEAD_TAIL_LEFT;
+                    case '>':
+                        return CellCode.FOX_HEAD_TAIL_RIGHT;
+                    default:
+                        break;
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw new IllegalArgumentException("Unexpected '" + token + "' at " +
+                index + " of \"" + notation + "\"");
+    }
+}
@@ -0,0 +1,109 @@
+package project.model;
+
+/**
+ * A read only view of a single row or column of a board. The view reads the
+ * board's items directly instead of copying them, and since boards never
+ * change it stays valid for as long as it is kept.
+ */
+public final class BoardSlice {
+
+    /**
+     * The board being viewed.
+     */
+    private final Board board;
+
+    /**
+     * True if the slice is a row, false if it is a column.
+     */
+    private final boolean isRow;
+
+    /**
+     * The row or column of the slice.
+     */
+    private final int index;
+
+    /**
+     * Creates a view of a row or column of a board.
+     * @param board The board being viewed.
+     * @param isRow True for a row, false for a column.
+     * @param index The row or column of the slice.
+     */
+    BoardSlice(Board board, boolean isRow, int index) {
+        this.board = board;
+        this.isRow = isRow;
+        this.index = index;
+    }
+
+    /**
+     * Returns the number of cells in the slice.
+     * @return The number of columns for a row, or rows for a column.
+     */
+    public int size() {
+        return isRow ? board.numberOfColumns : board.numberOfRows;
+    }
+
+    /**
+     * Returns true if a coordinate lies within the slice.
+     * @param coordinate The coordinate being checked.
+     * @return True if the coordinate is on the board and in this row or
+     * column.
+     */
+    public boolean contains(Coordinate coordinate) {
+        if (isRow) {
+            return coordinate.row == index && coordinate.column >= 0 &&
+                    coordinate.column < board.numberOfColumns;
+        }
+
+        return coordinate.column == index && coordinate.row >= 0 &&
+                coordinate.row < board.numberOfRows;
+    }
+
+    /**
+     * Gets the item at a coordinate of the slice.
+     * @param coordinate The coordinate of the item.
+     * @return The item, or null if the coordinate is not in the slice.
+     */
+    public BoardItem get(Coordinate coordinate) {
+        if (!contains(coordinate)) {
+            return null;
+        }
+
+        return board.getItem(coordinate.row, coordinate.column);
+    }
+
+    /**
+     * Returns true if the item at a coordinate of the slice is an obstacle,
+     * read from the board's cell codes instead of the item.
+     * @param coordinate A coordinate in the slice.
+     * @return True if the cell blocks foxes and can be jumped over.
+     */
+    public boolean isObstacle(Coordinate coordinate) {
+        return CellCode.isObstacle(board.getCode(
+                coordinate.row * board.numberOfColumns + coordinate.column));
+    }
+
+    /**
+     * Returns true if a coordinate of the slice is a hole or elevated cell,
+     * read from the board's static layer.
+     * @param coordinate A coordinate in the slice.
+     * @return True if foxes cannot slide over the cell.
+     */
+    public boolean isContainer(Coordinate coordinate) {
+        return board.getStaticLayer().isContainer(
+                coordinate.row * board.numberOfColumns + coordinate.column);
+    }
+
+    /**
+     * Gets the item at a position along the slice.
+     * @param position The column of the item for a row, or its row for a
+     *                 column.
+     * @return The item, or null if the position is not in the slice.
+     */
+    public BoardItem get(int position) {
+        if (isRow) {
+            return board.getItem(index, position);
+        }
+
+        return board.getItem(position, index);
+    }
+}
@@ -0,0 +1,332 @@
+package project.model;
+
+import com.google.common.base.Optional;
+import io.atlassian.fugue.Pair;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Small integer codes describing the contents of a single cell on the board.
+ * Every code fits in four bits, so a whole board can be packed into a few
+ * longs. A fox is stored as a head code, which records the direction of its
+ * tail, and a tail code.
+ */
+public final class CellCode {
+
+    /**
+     * The number of bits used to store a single code.
+     */
+    public static final int BITS = 4;
+
+    // The values of the codes are stored by PackedBoard, BinaryLevel and
+    // BoardHistory, so existing codes must never be renumbered.
+
+    /**
+     * An empty cell.
+     */
+    public static final int EMPTY = 0;
+
+    /**
+     * A rabbit that is not in a hole or on an elevated cell.
+     */
+    public static final int RABBIT = 1;
+
+    /**
+     * A mushroom on its own.
+     */
+    public static final int MUSHROOM = 2;
+
+    /**
+     * An empty hole.
+     */
+    public static final int HOLE = 3;
+
+    /**
+     * A hole with a rabbit in it.
+     */
+    public static final int HOLE_RABBIT = 4;
+
+    /**
+     * A hole with a mushroom in it.
+     */
+    public static final int HOLE_MUSHROOM = 5;
+
+    /**
+     * An empty elevated cell.
+     */
+    public static final int ELEVATED = 6;
+
+    /**
+     * An elevated cell with a rabbit on it.
+     */
+    public static final int ELEVATED_RABBIT = 7;
+
+    /**
+     * An elevated cell with a mushroom on it.
+     */
+    public static final int ELEVATED_MUSHROOM = 8;
+
+    /**
+     * The tail of a fox, the fox itself is described by its head.
+     */
+    public static final int FOX_TAIL = 9;
+
+    /**
+     * The head of a fox whose tail is in the row above it.
+     */
+    public static final int FOX_HEAD_TAIL_UP = 10;
+
+    /**
+     * The head of a fox whose tail is in the row below it.
+     */
+    public static final int FOX_HEAD_TAIL_DOWN = 11;
+
+    /**
+     * The head of a fox whose tail is in the column to its left.
+     */
+    public static final int FOX_HEAD_TAIL_LEFT = 12;
+
+    /**
+     * The head of a fox whose tail is in the column to its right.
+     */
+    public static final int FOX_HEAD_TAIL_RIGHT = 13;
+
+    /**
+     * The number of distinct codes.
+     */
+    public static final int COUNT = 14;
+
+    private CellCode() {
+    }
+
+    /**
+     * Returns the code of an item as seen from one of the cells it covers.
+     * @param item The item on the board.
+     * @param cell The cell being encoded, only relevant for foxes.
+     * @return The code of the cell.
+     * @throws IllegalArgumentException If the item cannot be encoded.
+     */
+    public static int of(BoardItem item, Coordinate cell) {
+        return of(item, cell.row, cell.column);
+    }
+
+    /**
+     * Returns the code of an item as seen from one of the cells it covers.
+     * @param item The item on the board.
+     * @param row The row of the cell being encoded.
+     * @param column The column of the cell being encoded.
+     * @return The code of the cell.
+     * @throws IllegalArgumentException If the item cannot be encoded.
+     */
+    public static int of(BoardItem item, int row, int column) {
+        if (item instanceof EmptyBoardItem) {
+            return EMPTY;
+        }
+
+        if (item instanceof Rabbit) {
+            return RABBIT;
+        }
+
+        if (item instanceof Mushroom) {
+            return MUSHROOM;
+        }
+
+        if (item instanceof Hole) {
+            return HOLE + containedOffset((ContainerItem) item);
+        }
+
+        if (item instanceof ElevatedBoardItem) {
+            return ELEVATED + containedOffset((ContainerItem) item);
+        }
+
+        if (item instanceof Fox) {
+            Fox fox = (Fox) item;
+            Coordinate head = fox.getHead();
+            Coordinate tail = fox.getTail();
+
+            if (head.row != row || head.column != column) {
+                return FOX_TAIL;
+            }
+
+            if (tail.row < head.row) {
+                return FOX_HEAD_TAIL_UP;
+            } else if (tail.row > head.row) {
+                return FOX_HEAD_TAIL_DOWN;
+            } else if (tail.column < head.column) {
+                return FOX_HEAD_TAIL_LEFT;
+            } else {
+                return FOX_HEAD_TAIL_RIGHT;
+            }
+        }
+
+        throw new IllegalArgumentException("Cannot encode " + item.getClass());
+    }
+
+    /**
+     * Returns the offset from an empty container code for the item it holds.
+     * @param item The container being encoded.
+     * @return 0 if empty, 1 for a rabbit and 2 for a mushroom.
+     */
+    private static int containedOffset(ContainerItem item) {
+        if (!item.containingItem.isPresent()) {
+            return 0;
+        }
+
+        if (item.containingItem.get() instanceof Rabbit) {
+            return 1;
+        }
+
+        return 2;
+    }
+
+    /**
+     * Returns true if the cell blocks foxes and can be jumped over by
+     * rabbits, matching {@link MaybeObstacle#isObstacle()} of its item.
+     * @param code The cell code.
+     * @return True if the cell is an obstacle.
+     */
+    public static boolean isObstacle(int code) {
+        return code != EMPTY && code != HOLE && code != ELEVATED;
+    }
+
+    /**
+     * Returns true if the cell holds a rabbit that can move, either on its
+     * own or inside a hole or elevated cell.
+     * @param code The cell code.
+     * @return True if the cell holds a rabbit.
+     */
+    public static boolean isRabbit(int code) {
+        return code == RABBIT || code == HOLE_RABBIT || code == ELEVATED_RABBIT;
+    }
+
+    /**
+     * Returns true if the cell is a hole or an elevated cell, which foxes
+     * cannot slide over even when empty.
+     * @param code The cell code.
+     * @return True if the cell is a container.
+     */
+    public static boolean isContainer(int code) {
+        return code >= HOLE && code <= ELEVATED_MUSHROOM;
+    }
+
+    /**
+     * Returns true if the code is the head of a fox.
+     * @param code The cell code.
+     * @return True if the code is one of the fox head codes.
+     */
+    public static boolean isFoxHead(int code) {
+        return code >= FOX_HEAD_TAIL_UP && code <= FOX_HEAD_TAIL_RIGHT;
+    }
+
+    /**
+     * Returns the cell of the tail of a fox head, in a board of a size.
+     * @param code The code of the fox's head.
+     * @param cell The index of the head's cell.
+     * @param rows The number of rows of the board.
+     * @param columns The number of columns of the board.
+     * @return The index of the tail's cell, or -1 if the tail is off the
+     * board.
+     */
+    public static int foxTailCell(int code, int cell, int rows, int columns) {
+        int row = cell / columns;
+        int column = cell % columns;
+
+        switch (code) {
+            case FOX_HEAD_TAIL_UP:
+                return row > 0 ? cell - columns : -1;
+            case FOX_HEAD_TAIL_DOWN:
+                return row < rows - 1 ? cell + columns : -1;
+            case FOX_HEAD_TAIL_LEFT:
+                return column > 0 ? cell - 1 : -1;
+            case FOX_HEAD_TAIL_RIGHT:
+                return column < columns - 1 ? cell + 1 : -1;
+            default:
+                throw new IllegalArgumentException(code + " is not a fox head");
+        }
+    }
+
+    /**
+     * Finds a cell holding half a fox in the codes of a board: a head whose
+     * tail is off the board, is not a tail or is claimed by another head, or
+     * a tail that no head claims.
+     * @param rows The number of rows of the board.
+     * @param columns The number of columns of the board.
+     * @param codes Returns the code of a cell.
+     * @return The index of the first such cell, or -1 if every fox is whole.
+     */
+    static int findBrokenFox(int rows, int columns, IntUnaryOperator codes) {
+        boolean[] claimed = new boolean[rows * columns];
+
+        for (int cell = 0; cell < claimed.length; cell++) {
+            int code = codes.applyAsInt(cell);
+
+            if (isFoxHead(code)) {
+                int tail = foxTailCell(code, cell, rows, columns);
+
+                if (tail == -1 || codes.applyAsInt(tail) != FOX_TAIL ||
+                        claimed[tail]) {
+                    return cell;
+                }
+
+                claimed[tail] = true;
+            }
+        }
+
+        for (int cell = 0; cell < claimed.length; cell++) {
+            if (!claimed[cell] && codes.applyAsInt(cell) == FOX_TAIL) {
+                return cell;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Creates the item described by a code. Fox tails do not describe an
+     * item on their own, the fox is created from its head.
+     * @param code The cell code.
+     * @param cell The cell the code was read from.
+     * @return The item, or null for a fox tail.
+     * @throws IllegalArgumentException If the code is unknown.
+     */
+    public static BoardItem toItem(int code, Coordinate cell) {
+        switch (code) {
+            case EMPTY:
+                return EmptyBoardItem.of(cell);
+            case RABBIT:
+                return new Rabbit(cell);
+            case MUSHROOM:
+                return Mushroom.of(cell);
+            case HOLE:
+                return Hole.empty(cell);
+            case HOLE_RABBIT:
+                return new Hole(cell, Optional.of(new Rabbit(cell)));
+            case HOLE_MUSHROOM:
+                return new Hole(cell, Optional.of(Mushroom.of(cell)));
+            case ELEVATED:
+                return ElevatedBoardItem.empty(cell);
+            case ELEVATED_RABBIT:
+                return new ElevatedBoardItem(cell,
+                        Optional.of(new Rabbit(cell)));
+            case ELEVATED_MUSHROOM:
+                return new ElevatedBoardItem(cell,
+                        Optional.of(Mushroom.of(cell)));
+            case FOX_TAIL:
+                return null;
+            case FOX_HEAD_TAIL_UP:
+                return new Fox(Pair.pair(cell,
+                        Coordinate.of(cell.row - 1, cell.column)));
+            case FOX_HEAD_TAIL_DOWN:
+                return new Fox(Pair.pair(cell,
+                        Coordinate.of(cell.row + 1, cell.column)));
+            case FOX_HEAD_TAIL_LEFT:
+                return new Fox(Pair.pair(cell,
+                        Coordinate.of(cell.row, cell.column - 1)));
+            case FOX_HEAD_TAIL_RIGHT:
+                return new Fox(Pair.pair(cell,
+                        Coordinate.of(cell.row, cell.column + 1)));
+            default:
+                throw new IllegalArgumentException("Unknown cell code " + code);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package project.model;
 import com.google.common.base.Optional;
 import io.atlassian.fugue.Either;
 import io.atlassian.fugue.Pair;
-import org.pcollections.PMap;
 
 /**
  * Represents a hole object on the board.
@@ -54,6 +53,21 @@ public abstract class ContainerItem extends SingleBoardItem implements
         return false;
     }
 
+    /**
+     * Returns the hashcode of the container, which also depends on the type
+     * of item it contains.
+     * @return The container's hashcode.
+     */
+    @Override
+    public int hashCode() {
+        if (containingItem.isPresent()) {
+            return 31 * super.hashCode() +
+                    containingItem.get().getClass().hashCode();
+        }
+
+        return super.hashCode();
+    }
+
     /**
      * Attempts to jump a rabbit out of a hole.
      * @param direction The direction that the rabbit must jump.
@@ -61,5 +75,46 @@ public abstract class ContainerItem extends SingleBoardItem implements
      * @return A pair containing the new empty hole, and either the rabbit or the new hole it is found in.
      * @throws InvalidMoveException If the hole is empty or the rabbit cannot jump.
      */
-    public abstract Pair<ContainerItem, Either<Rabbit, ContainerItem>> jump(Direction direction, PMap<Coordinate, BoardItem> slice) throws InvalidMoveException;
+    public Pair<ContainerItem, Either<Rabbit, ContainerItem>> jump(Direction direction, BoardSlice slice) throws InvalidMoveException {
+        MoveLegality legality = checkJump(direction, slice);
+
+        if (!legality.isLegal()) {
+            throw new InvalidMoveException(legality.message);
+        }
+
+        return land(direction, slice);
+    }
+
+    /**
+     * Checks if a rabbit can jump out of the hole, without throwing.
+     * @param direction The direction that the rabbit must jump.
+     * @param slice The slice where the jump occurs.
+     * @return LEGAL, or the reason the jump cannot be made.
+     */
+    public MoveLegality checkJump(Direction direction, BoardSlice slice) {
+        if (!containingItem.isPresent() ||
+                !(containingItem.get() instanceof Rabbit)) {
+            return MoveLegality.EMPTY_CONTAINER;
+        }
+
+        return ((Rabbit) containingItem.get()).checkJump(direction, slice);
+    }
+
+    /**
+     * Jumps the rabbit out of the hole once the jump has been checked.
+     * @param direction The direction that the rabbit must jump.
+     * @param slice The slice where the jump occurs.
+     * @return A pair containing the new empty hole, and either the rabbit or the new hole it is found in.
+     */
+    Pair<ContainerItem, Either<Rabbit, ContainerItem>> land(Direction direction, BoardSlice slice) {
+        Rabbit jumpingRabbit = (Rabbit) containingItem.get();
+
+        return Pair.pair(withoutItem(), jumpingRabbit.land(direction, slice));
+    }
+
+    /**
+     * Returns an empty container of the same kind at the same coordinate.
+     * @return The container left behind once its item is gone.
+     */
+    protected abstract ContainerItem withoutItem();
 }
@@ -1,6 +1,6 @@
 package project.model;
 
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a coordinate on the board, consisting of the item's row and column.
@@ -15,6 +15,23 @@ public class Coordinate {
      */
     public final int column;
 
+    /**
+     * Rows and columns below this size have a shared instance returned by
+     * {@link #of(int, int)}.
+     */
+    static final int CACHE_SIZE = 32;
+
+    /**
+     * The shared instances, created the first time they are asked for.
+     */
+    private static final AtomicReferenceArray<Coordinate> CACHE =
+            new AtomicReferenceArray<>(CACHE_SIZE * CACHE_SIZE);
+
+    /**
+     * The hashcode of the coordinate, computed once.
+     */
+    private final int hash;
+
     /**
      * Creates a coordinate with a given row and column.
      * @param row The row of the coordinate.
@@ -23,6 +40,8 @@ public class Coordinate {
     public Coordinate(int row, int column) {
         this.row = row;
         this.column = column;
+        // Same value as Objects.hash(row, column) without boxing the fields
+        this.hash = 31 * (31 + row) + column;
     }
 
     /**
@@ -30,8 +49,47 @@ public class Coordinate {
      * @param coordinate The coordinate being copied.
      */
     public Coordinate(Coordinate coordinate) {
-        this.row = coordinate.row;
-        this.column = coordinate.column;
+        this(coordinate.row, coordinate.column);
+    }
+
+    /**
+     * Returns a coordinate with a given row and column. Coordinates on
+     * boards of up to {@link #CACHE_SIZE} rows and columns are shared, so
+     * asking for them again does not create a new object.
+     * @param row The row of the coordinate.
+     * @param column The column of the coordinate.
+     * @return The coordinate.
+     */
+    public static Coordinate of(int row, int column) {
+        int index = cacheIndex(row, column);
+
+        if (index < 0) {
+            return new Coordinate(row, column);
+        }
+
+        Coordinate coordinate = CACHE.get(index);
+
+        if (coordinate == null) {
+            CACHE.compareAndSet(index, null, new Coordinate(row, column));
+            coordinate = CACHE.get(index);
+        }
+
+        return coordinate;
+    }
+
+    /**
+     * Returns the index of a coordinate in the caches of shared instances.
+     * @param row The row of the coordinate.
+     * @param column The column of the coordinate.
+     * @return The index, or -1 if the coordinate is not cached.
+     */
+    static int cacheIndex(int row, int column) {
+        if (row < 0 || row >= CACHE_SIZE || column < 0 ||
+                column >= CACHE_SIZE) {
+            return -1;
+        }
+
+        return row * CACHE_SIZE + column;
     }
 
     /**
@@ -40,7 +98,7 @@ public class Coordinate {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(row, column);
+        return hash;
     }
 
     /**
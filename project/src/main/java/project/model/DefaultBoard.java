@@ -16,7 +16,6 @@ public class DefaultBoard {
      * Constructor for default board sets up the board 5x5.
      */
     public DefaultBoard() {
-        board = new Board(5, 5);
         Mushroom mush1 = new Mushroom(new Coordinate(0,0));
         Hole holeTopLeft = new Hole(new Coordinate(0, 0),
                 Optional.of(mush1));
@@ -61,18 +60,20 @@ public class DefaultBoard {
         //5th column end
 
 
-        board = board.setItem(holeTopLeft);
-        board = board.setItem(elevatedLeft);
-        board = board.setItem(holeBottomLeft);
-        board = board.setItem(fox1);
-        board = board.setItem(elevatedTop);
-        board = board.setItem(holeMiddle);
-        board = board.setItem(fox2);
-        board = board.setItem(elevatedBottom);
-        board = board.setItem(holeTopRight);
-        board = board.setItem(elevatedMidRight);
-        board = board.setItem(holeBottomRight);
-        board = board.setItem(mush2);
+        board = new Board.Builder(5, 5)
+                .setItem(holeTopLeft)
+                .setItem(elevatedLeft)
+                .setItem(holeBottomLeft)
+                .setItem(fox1)
+                .setItem(elevatedTop)
+                .setItem(holeMiddle)
+                .setItem(fox2)
+                .setItem(elevatedBottom)
+                .setItem(holeTopRight)
+                .setItem(elevatedMidRight)
+                .setItem(holeBottomRight)
+                .setItem(mush2)
+                .build();
     }
 
     /**
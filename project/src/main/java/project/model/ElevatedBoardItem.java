@@ -1,13 +1,13 @@
 package project.model;
 
 import com.google.common.base.Optional;
-import io.atlassian.fugue.Either;
-import io.atlassian.fugue.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.pcollections.PMap;
 import project.tui.ItemUIRepresentation;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * A space on the board that is elevated.
  */
@@ -18,6 +18,12 @@ public class ElevatedBoardItem extends ContainerItem {
      */
     private static Logger logger = LogManager.getLogger(Board.class);
 
+    /**
+     * The shared empty elevated spaces.
+     */
+    private static final ItemCache<ElevatedBoardItem> EMPTY_ELEVATED =
+            new ItemCache<>(ElevatedBoardItem::new);
+
     /**
      * Constructs a new hole with a coordinate and optional item.
      *
@@ -46,28 +52,22 @@ public class ElevatedBoardItem extends ContainerItem {
     }
 
     /**
-     * Attempts to jump a board out of the elevated space.
-     * @param direction The direction that the rabbit must jump.
-     * @param slice The slice where the jump occurs.
-     * @return A pair containing the container and the result of the jump.
-     * @throws InvalidMoveException If the move is invalid.
+     * Returns the empty elevated space at a coordinate. Elevated spaces are
+     * immutable, so the same instance is returned every time.
+     * @param coordinate The coordinate where the elevated space is located.
+     * @return The empty elevated space.
      */
-    @Override
-    public Pair<ContainerItem, Either<Rabbit, ContainerItem>> jump(Direction direction, PMap<Coordinate, BoardItem> slice) throws InvalidMoveException {
-        if (!containingItem.isPresent()){
-            if (! (containingItem.get() instanceof  Rabbit)) {
-                throw new InvalidMoveException("The hole does not contain a rabbit.");
-            }
-        }
-
-        //Jump the rabbit out of the hole
-        Rabbit jumpingRabbit = (Rabbit) this.containingItem.get();
-        Either<Rabbit, ContainerItem> rabbitOrContainerItem = jumpingRabbit.jump(direction, slice);
-
-        //Create a new empty hole in this one's place
-        ElevatedBoardItem emptyContainerItem = new ElevatedBoardItem(this.coordinate.left().get(), Optional.absent());
+    public static ElevatedBoardItem empty(Coordinate coordinate) {
+        return EMPTY_ELEVATED.get(coordinate);
+    }
 
-        return Pair.pair(emptyContainerItem, rabbitOrContainerItem);
+    /**
+     * Returns the empty elevated cell left behind when a rabbit jumps out.
+     * @return The empty elevated cell at this coordinate.
+     */
+    @Override
+    protected ContainerItem withoutItem() {
+        return ElevatedBoardItem.empty(this.coordinate.left().get());
     }
 
     /**
@@ -104,7 +104,7 @@ public class ElevatedBoardItem extends ContainerItem {
                 }
 
                 else if (!elevatedBoardItem.containingItem.isPresent() &&
-                        !elevatedBoardItem.containingItem.isPresent()) {
+                        !this.containingItem.isPresent()) {
                     logger.trace("Elevated IS SAME!");
                     return true;
                 }
@@ -117,24 +117,20 @@ public class ElevatedBoardItem extends ContainerItem {
     }
 
     /**
-     * Will return the XML representation of this elevated board item and
-     * anyy items elevated by this item.
-     * @return the XML representation of the elevated board item.
+     * Writes the XML representation of this elevated board item and any item
+     * inside of it to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
      */
     @Override
-    public String toXML() {
-        String xml = "<ElevatedBoardItem>";
-        Coordinate coordinate = this.coordinate.left().get();
-
-        xml = xml + "<Coordinate row=" + '"' + coordinate.row + '"' + " column=" +
-                '"' + coordinate.column + '"' + "/>";
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("<ElevatedBoardItem>");
+        writeCoordinateXML(writer);
 
         if (containingItem.isPresent()) {
-            BoardItem item = (BoardItem) containingItem.get();
-            xml = xml + item.toXML();
+            ((BoardItem) containingItem.get()).writeXML(writer);
         }
 
-        xml = xml + "</ElevatedBoardItem>";
-        return xml;
+        writer.write("</ElevatedBoardItem>");
     }
 }
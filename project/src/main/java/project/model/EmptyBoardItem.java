@@ -4,6 +4,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import project.tui.ItemUIRepresentation;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Represents an empty space on the board.
  */
@@ -14,6 +17,12 @@ public class EmptyBoardItem extends SingleBoardItem {
      */
     private static Logger logger = LogManager.getLogger(Board.class);
 
+    /**
+     * The shared empty spaces.
+     */
+    private static final ItemCache<EmptyBoardItem> CACHE =
+            new ItemCache<>(EmptyBoardItem::new);
+
     /**
      * Creates the empty board item at a coordinate.
      * @param coordinate The coordinate containing the empty space.
@@ -23,6 +32,16 @@ public class EmptyBoardItem extends SingleBoardItem {
         this.uIRepresentation = ItemUIRepresentation.EMPTY;
     }
 
+    /**
+     * Returns the empty board item at a coordinate. Empty spaces are
+     * immutable, so the same instance is returned every time.
+     * @param coordinate The coordinate containing the empty space.
+     * @return The empty board item.
+     */
+    public static EmptyBoardItem of(Coordinate coordinate) {
+        return CACHE.get(coordinate);
+    }
+
     /**
      * Returns the string representation of the board item.
      * @return The string representation.
@@ -72,18 +91,14 @@ public class EmptyBoardItem extends SingleBoardItem {
     }
 
     /**
-     * Will return the XML representation of this empty tile.
-     * @return the XML representation of the empty tile.
+     * Writes the XML representation of this empty tile to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
      */
     @Override
-    public String toXML() {
-        String xml = "<Empty>";
-        Coordinate coordinate = this.coordinate.left().get();
-
-        xml = xml + "<Coordinate row=" + '"' + coordinate.row + '"' +
-                " column=" + '"' + coordinate.column + '"' + "/>";
-
-        xml = xml + "</Empty>";
-        return xml;
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("<Empty>");
+        writeCoordinateXML(writer);
+        writer.write("</Empty>");
     }
 }
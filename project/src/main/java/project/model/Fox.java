@@ -3,12 +3,11 @@ package project.model;
 import io.atlassian.fugue.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.pcollections.PMap;
 import project.tui.ItemUIRepresentation;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.io.IOException;
+import java.io.Writer;
+
 
 /**
  * A class that represents a fox on the board, which can slide across the board to move.
@@ -81,44 +80,27 @@ public class Fox extends BoardItem implements Movable {
     }
 
     /**
-     * Method used to determine what next coordinate should be checked when sliding the fox
-     * @return nextCoordinates The next coordinates that should be checked when sliding the fox
-     * @throws InvalidMoveException
+     * Method used to determine where a part of the fox ends up when sliding.
+     * @param coordinate the head or tail of the fox.
+     * @param direction the direction the fox is sliding in.
+     * @param spaces the number of spaces the fox slides.
+     * @return the coordinate after the slide.
      */
-    private Pair<Coordinate, Coordinate> computeNextCoordinates(Direction direction)
-            throws InvalidMoveException {
-        Coordinate head = getHead();
-        Coordinate tail = getTail();
-
-        if (this.orientation == Orientation.HORIZONTAL) {
-            if (direction == Direction.UP || direction == Direction.DOWN) {
-                throw new InvalidMoveException("Fox is oriented horizontally!");
-            }
-        } else if (this.orientation == Orientation.VERTICAL) {
-            if (direction == Direction.LEFT || direction == Direction.RIGHT) {
-                throw new InvalidMoveException("Fox is oriented vertically!");
-            }
+    private static Coordinate computeNextCoordinate(Coordinate coordinate,
+                                                    Direction direction,
+                                                    int spaces) {
+        switch (direction) {
+            case DOWN:
+                return Coordinate.of(coordinate.row + spaces, coordinate.column);
+            case UP:
+                return Coordinate.of(coordinate.row - spaces, coordinate.column);
+            case RIGHT:
+                return Coordinate.of(coordinate.row, coordinate.column + spaces);
+            case LEFT:
+                return Coordinate.of(coordinate.row, coordinate.column - spaces);
+            default:
+                throw new IllegalArgumentException("Invalid Direction!");
         }
-
-        if (direction == Direction.DOWN) {
-            Coordinate newHead = new Coordinate(head.row + 1, head.column);
-            Coordinate newTail = new Coordinate(tail.row + 1, tail.column);
-            return Pair.pair(newHead, newTail);
-        } else if (direction == Direction.UP) {
-            Coordinate newHead = new Coordinate(head.row - 1, head.column);
-            Coordinate newTail = new Coordinate(tail.row - 1, tail.column);
-            return Pair.pair(newHead, newTail);
-        } else if (direction == Direction.RIGHT) {
-            Coordinate newHead = new Coordinate(head.row, head.column + 1);
-            Coordinate newTail = new Coordinate(tail.row, tail.column + 1);
-            return Pair.pair(newHead, newTail);
-        } else if (direction == Direction.LEFT) {
-            Coordinate newHead = new Coordinate(head.row, head.column - 1);
-            Coordinate newTail = new Coordinate(tail.row, tail.column - 1);
-            return Pair.pair(newHead, newTail);
-        }
-
-        throw new IllegalArgumentException("Invalid Direction!");
     }
 
     /**
@@ -127,98 +109,98 @@ public class Fox extends BoardItem implements Movable {
      * @param moveSpaces The spaces the Fox wants to move
      * @return slidingFox A new Fox at the destinationCoordinate or at same location if the slide failed
      */
-    public Fox slide(PMap<Coordinate, BoardItem> slice, int moveSpaces,
+    public Fox slide(BoardSlice slice, int moveSpaces,
                      Direction direction) throws InvalidMoveException {
 
         return performSlide(slice, moveSpaces, direction);
     }
 
     /**
-     * Checks if sliding the Fox horizontally to the destination coordinate is valid
+     * Checks if sliding the Fox to the destination coordinate is valid
      * @param slice A slice of the board used to get the item at a given coordinate
      * @param moveSpaces The spaces the Fox wants to move
-     * @return slidingFox A new Fox at the destinationCoordinate or at same location if the slide failed
+     * @return slidingFox A new Fox at the destinationCoordinate
+     * @throws InvalidMoveException If the fox cannot slide that far.
      */
-    public Fox performSlide(PMap<Coordinate, BoardItem> slice, int moveSpaces, Direction direction)
+    public Fox performSlide(BoardSlice slice, int moveSpaces, Direction direction)
             throws InvalidMoveException {
-        // Generate new coordinates
-        Pair<Coordinate, Coordinate> nextCoordinates =
-                this.computeNextCoordinates(direction);
-
-        int spacesToMove = moveSpaces;
-
-        // Create new Fox
-        Fox fox = new Fox(nextCoordinates);
+        MoveLegality legality = checkSlide(slice, moveSpaces, direction);
 
-        List<Coordinate> coordinates = new ArrayList<>();
-
-        coordinates.add(nextCoordinates.left());
-        coordinates.add(nextCoordinates.right());
-
-        if (checkIfNotOnBoard(slice, coordinates)) {
-            throw new InvalidMoveException("Slide caused fox to fall off " +
-                    "board");
+        if (!legality.isLegal()) {
+            throw new InvalidMoveException(legality.message);
         }
 
-        if (checkIfHitObstacle(slice, coordinates)) {
-            throw new InvalidMoveException("Slide caused fox to hit an " +
-                    "obstacle");
-        }
-
-        if (spacesToMove > 1) {
-            return fox.performSlide(slice, --spacesToMove, direction);
-        }
-
-        return fox;
+        return moved(moveSpaces, direction);
     }
 
     /**
-     * Used to determine if fox slide hit an obstacle or not.
-     * @param slice sends in slice of the board to loop through.
-     * @param coordinates gives list of coordinates holding the coordinates
-     * of the fox.
-     * @return boolean is returned. True if it hit and obstacle, otherwise
-     * false.
+     * Checks if the fox can slide, without throwing. Every cell the fox
+     * passes over must be on the board and free of obstacles and containers.
+     * @param slice A slice of the board used to get the item at a given coordinate
+     * @param moveSpaces The spaces the Fox wants to move
+     * @param direction The direction the Fox slides in.
+     * @return LEGAL, or the reason the fox cannot slide.
      */
-    private boolean checkIfHitObstacle(PMap<Coordinate, BoardItem> slice,
-                                       List<Coordinate> coordinates ) {
-        for (Coordinate coordinate: coordinates) {
+    public MoveLegality checkSlide(BoardSlice slice, int moveSpaces,
+                                   Direction direction) {
+        if (this.orientation == Orientation.HORIZONTAL) {
+            if (direction == Direction.UP || direction == Direction.DOWN) {
+                return MoveLegality.FOX_HORIZONTAL;
+            }
+        } else if (this.orientation == Orientation.VERTICAL) {
+            if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+                return MoveLegality.FOX_VERTICAL;
+            }
+        }
 
-            BoardItem item = slice.get(coordinate);
+        for (int spaces = 1; spaces <= Math.max(moveSpaces, 1); spaces++) {
+            Coordinate head = computeNextCoordinate(getHead(), direction, spaces);
+            Coordinate tail = computeNextCoordinate(getTail(), direction, spaces);
 
-            if (item.isObstacle() && !item.equals(this)) {
-                return true;
+            if (!slice.contains(head) || !slice.contains(tail)) {
+                return MoveLegality.FOX_OFF_BOARD;
             }
 
-            if (item instanceof ContainerItem) {
-                return true;
+            if (checkIfHitObstacle(slice, head) ||
+                    checkIfHitObstacle(slice, tail)) {
+                return MoveLegality.FOX_HIT_OBSTACLE;
             }
         }
 
-        return false;
+        return MoveLegality.LEGAL;
     }
 
     /**
-     * Used to determine if slide caused fox to fall off the board.
-     * @param slice sends in slice of the board to loop through.
-     * @param nextCoordinates gives list of coordinates holding the
-     *                        coordinates of the fox.
-     * @return boolean is returned. True if it fell off the board, otherwise
-     * false is returned.
+     * Slides a fox that has already been checked.
+     * @param moveSpaces The spaces the Fox moves.
+     * @param direction The direction the Fox slides in.
+     * @return A new Fox at the destination.
      */
-    private boolean checkIfNotOnBoard(
-            PMap<Coordinate, BoardItem> slice, List<Coordinate> nextCoordinates
-    ) {
-        HashSet<Coordinate> coordinateSet = new HashSet<>(slice.keySet());
+    Fox moved(int moveSpaces, Direction direction) {
+        int spaces = Math.max(moveSpaces, 1);
+
+        return new Fox(Pair.pair(
+                computeNextCoordinate(getHead(), direction, spaces),
+                computeNextCoordinate(getTail(), direction, spaces)));
+    }
 
-        if (!coordinateSet.containsAll(nextCoordinates)) {
+    /**
+     * Used to determine if fox slide hit an obstacle or not.
+     * @param slice sends in slice of the board to check.
+     * @param coordinate one of the coordinates the fox is sliding onto.
+     * @return boolean is returned. True if it hit and obstacle, otherwise
+     * false.
+     */
+    private boolean checkIfHitObstacle(BoardSlice slice,
+                                       Coordinate coordinate) {
+        if (slice.isObstacle(coordinate) &&
+                !slice.get(coordinate).equals(this)) {
             return true;
         }
 
-        return false;
+        return slice.isContainer(coordinate);
     }
 
-
     /**
      * Returns whether this object can be treated as an obstacle
      * @return true The Fox object is an obstacle
@@ -279,21 +261,23 @@ public class Fox extends BoardItem implements Movable {
     }
 
     /**
-     * Will return the XML representation of this fox.
-     * @return the XML representation of the fox.
+     * Writes the XML representation of this fox to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
      */
     @Override
-    public String toXML() {
+    public void writeXML(Writer writer) throws IOException {
         //<CoordinatePair headRow=0 headColumn=0 tailRow=1 tailColumn=1/>
-        String xml = "<Fox>";
         Pair<Coordinate, Coordinate> coordinates = this.coordinate.right().get();
 
-        xml = xml + "<CoordinatePair headRow=" + '"' + coordinates.left().row + '"' +
-                " headColumn=" + '"' + coordinates.left().column + '"' + " tailRow=" + '"' +
-                coordinates.right().row + '"' + " tailColumn=" + '"' +
-                coordinates.right().column + '"' + "/>";
-
-        xml = xml + "</Fox>";
-        return xml;
+        writer.write("<Fox><CoordinatePair headRow=\"");
+        writer.write(Integer.toString(coordinates.left().row));
+        writer.write("\" headColumn=\"");
+        writer.write(Integer.toString(coordinates.left().column));
+        writer.write("\" tailRow=\"");
+        writer.write(Integer.toString(coordinates.right().row));
+        writer.write("\" tailColumn=\"");
+        writer.write(Integer.toString(coordinates.right().column));
+        writer.write("\"/></Fox>");
     }
 }
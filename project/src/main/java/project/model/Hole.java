@@ -1,13 +1,13 @@
 package project.model;
 
 import com.google.common.base.Optional;
-import io.atlassian.fugue.Either;
-import io.atlassian.fugue.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.pcollections.PMap;
 import project.tui.ItemUIRepresentation;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Represents a hole on the board.
  */
@@ -18,6 +18,12 @@ public class Hole extends ContainerItem {
      */
     private static Logger logger = LogManager.getLogger(Board.class);
 
+    /**
+     * The shared empty holes.
+     */
+    private static final ItemCache<Hole> EMPTY_HOLES =
+            new ItemCache<>(Hole::new);
+
     /**
      * Constructs a new hole with a coordinate and optional item.
      *
@@ -46,28 +52,22 @@ public class Hole extends ContainerItem {
     }
 
     /**
-     * Attempts to jump a rabbit out of the hole.
-     * @param direction The direction that the rabbit must jump.
-     * @param slice The slice where the jump occurs.
-     * @return A pair containing the hole and the result of the jump.
-     * @throws InvalidMoveException If the jump is an invalid move.
+     * Returns the empty hole at a coordinate. Holes are immutable, so the
+     * same instance is returned every time.
+     * @param coordinate The coordinate where the hole is located.
+     * @return The empty hole.
      */
-    @Override
-    public Pair<ContainerItem, Either<Rabbit, ContainerItem>> jump(Direction direction, PMap<Coordinate, BoardItem> slice) throws InvalidMoveException {
-        if (!containingItem.isPresent()){
-            if (! (containingItem.get() instanceof  Rabbit)) {
-                throw new InvalidMoveException("The hole does not contain a rabbit.");
-            }
-        }
-
-        //Jump the rabbit out of the hole
-        Rabbit jumpingRabbit = (Rabbit) this.containingItem.get();
-        Either<Rabbit, ContainerItem> rabbitOrContainerItem = jumpingRabbit.jump(direction, slice);
-
-        //Create a new empty hole in this one's place
-        Hole emptyContainerItem = new Hole(this.coordinate.left().get(), Optional.absent());
+    public static Hole empty(Coordinate coordinate) {
+        return EMPTY_HOLES.get(coordinate);
+    }
 
-        return Pair.pair(emptyContainerItem, rabbitOrContainerItem);
+    /**
+     * Returns the empty hole left behind when a rabbit jumps out.
+     * @return The empty hole at this coordinate.
+     */
+    @Override
+    protected ContainerItem withoutItem() {
+        return Hole.empty(this.coordinate.left().get());
     }
 
     /**
@@ -104,7 +104,7 @@ public class Hole extends ContainerItem {
                 }
 
                 else if (!hole.containingItem.isPresent() &&
-                        !hole.containingItem.isPresent()) {
+                        !this.containingItem.isPresent()) {
                     logger.trace("HOLE IS SAME!");
                     return true;
                 }
@@ -117,24 +117,20 @@ public class Hole extends ContainerItem {
     }
 
     /**
-     * Will return the XML representation of this hole and any items inside
-     * of it.
-     * @return the XML representation of the elevated board item.
+     * Writes the XML representation of this hole and any item
+     * inside of it to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
      */
     @Override
-    public String toXML() {
-        String xml = "<Hole>";
-        Coordinate coordinate = this.coordinate.left().get();
-
-        xml = xml + "<Coordinate row=" + '"' + coordinate.row + '"' + " column=" + '"' +
-                coordinate.column + '"' + "/>";
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("<Hole>");
+        writeCoordinateXML(writer);
 
         if (containingItem.isPresent()) {
-            BoardItem item = (BoardItem) containingItem.get();
-            xml = xml + item.toXML();
+            ((BoardItem) containingItem.get()).writeXML(writer);
         }
 
-        xml = xml + "</Hole>";
-        return xml;
+        writer.write("</Hole>");
     }
 }
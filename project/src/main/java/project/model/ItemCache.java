@@ -0,0 +1,55 @@
+package project.model;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Shared instances of an item that holds nothing but its coordinate, one
+ * for every coordinate shared by {@link Coordinate#of(int, int)}. Items are
+ * immutable, so boards can hold the same instance without copying it.
+ * @param <T> The type of item.
+ */
+final class ItemCache<T extends BoardItem> {
+
+    /**
+     * The shared instances, created the first time they are asked for.
+     */
+    private final AtomicReferenceArray<T> items = new AtomicReferenceArray<>(
+            Coordinate.CACHE_SIZE * Coordinate.CACHE_SIZE);
+
+    /**
+     * Creates the item at a coordinate.
+     */
+    private final Function<Coordinate, T> factory;
+
+    /**
+     * Creates a cache of items.
+     * @param factory Creates the item at a coordinate.
+     */
+    ItemCache(Function<Coordinate, T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the item at a coordinate, shared if the coordinate is.
+     * @param coordinate The coordinate of the item.
+     * @return The item.
+     */
+    T get(Coordinate coordinate) {
+        int index = Coordinate.cacheIndex(coordinate.row, coordinate.column);
+
+        if (index < 0) {
+            return factory.apply(coordinate);
+        }
+
+        T item = items.get(index);
+
+        if (item == null) {
+            items.compareAndSet(index, null, factory.apply(
+                    Coordinate.of(coordinate.row, coordinate.column)));
+            item = items.get(index);
+        }
+
+        return item;
+    }
+}
@@ -0,0 +1,187 @@
+package project.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A file holding many levels in the {@link BinaryLevel} encoding, with an
+ * index so any level can be read by its position without reading the ones
+ * before it. The file starts with a magic number and the number of levels,
+ * followed by the offset of every level and the offset of the end of the
+ * last one, then the levels themselves. Packs are opened by memory mapping
+ * the file, so opening a level only decodes its few bytes.
+ */
+public final class LevelPack {
+
+    /**
+     * The first four bytes of every pack, "JPK1".
+     */
+    static final int MAGIC = 0x4A504B31;
+
+    /**
+     * The number of bytes before the index.
+     */
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * The contents of the pack file.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of levels in the pack.
+     */
+    private final int size;
+
+    /**
+     * Creates a pack reading from a buffer holding a pack file.
+     * @param buffer The contents of the file.
+     * @param size The number of levels in the pack.
+     */
+    private LevelPack(ByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Writes levels into a pack file, replacing the file if it exists.
+     * @param levels The levels, in the order of their ids.
+     * @param file The pack file.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If a level has more than
+     * {@link BinaryLevel#MAX_SIZE} rows or columns.
+     */
+    public static void write(List<Board> levels, Path file) throws IOException {
+        int length = HEADER_BYTES + (levels.size() + 1) * Integer.BYTES;
+
+        for (Board level : levels) {
+            length += BinaryLevel.encodedLength(level.numberOfRows,
+                    level.numberOfColumns);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        int offset = HEADER_BYTES + (levels.size() + 1) * Integer.BYTES;
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(levels.size());
+
+        for (Board level : levels) {
+            buffer.putInt(offset);
+            offset += BinaryLevel.encodedLength(level.numberOfRows,
+                    level.numberOfColumns);
+        }
+
+        buffer.putInt(offset);
+
+        for (Board level : levels) {
+            BinaryLevel.encode(level, buffer);
+        }
+
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Opens a pack file by memory mapping it. The mapping stays valid after
+     * the file is closed, and is released when the pack is no longer used.
+     * @param file The pack file.
+     * @return The pack.
+     * @throws IOException If the file cannot be read or is not a pack.
+     */
+    public static LevelPack open(Path file) throws IOException {
+        ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large to be a pack");
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a level pack");
+        }
+
+        int size = buffer.getInt(Integer.BYTES);
+
+        if (size < 0 || (long) HEADER_BYTES + (size + 1L) * Integer.BYTES >
+                buffer.limit()) {
+            throw new IOException(file + " has a truncated index");
+        }
+
+        return new LevelPack(buffer, size);
+    }
+
+    /**
+     * Returns the number of levels in the pack.
+     * @return The number of levels.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reads a level of the pack. Levels can be read from several threads at
+     * once.
+     * @param id The position of the level in the pack.
+     * @return The level, in progress.
+     * @throws IndexOutOfBoundsException If there is no level with the id.
+     * @throws IllegalStateException If the level is corrupt.
+     */
+    public Board getLevel(int id) {
+        Objects.checkIndex(id, size);
+
+        int offset = buffer.getInt(HEADER_BYTES + id * Integer.BYTES);
+        int end = buffer.getInt(HEADER_BYTES + (id + 1) * Integer.BYTES);
+
+        if (offset < HEADER_BYTES || end > buffer.limit() || end < offset) {
+            throw new IllegalStateException("Level " + id + " is outside " +
+                    "the pack");
+        }
+
+        try {
+            Board level = BinaryLevel.decode(buffer, offset);
+
+            if (offset + BinaryLevel.encodedLength(level.numberOfRows,
+                    level.numberOfColumns) != end) {
+                throw new IllegalStateException("Level " + id +
+                        " does not match the index");
+            }
+
+            return level;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Level " + id + " is corrupt", e);
+        }
+    }
+
+    /**
+     * Reads every level of the pack.
+     * @return The levels, in the order of their ids.
+     * @throws IllegalStateException If a level is corrupt.
+     */
+    public List<Board> getLevels() {
+        List<Board> levels = new ArrayList<>(size);
+
+        for (int id = 0; id < size; id++) {
+            levels.add(getLevel(id));
+        }
+
+        return levels;
+    }
+}
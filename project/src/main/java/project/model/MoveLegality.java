@@ -0,0 +1,43 @@
+package project.model;
+
+/**
+ * Enum containing whether a move can be made, and if not, why. Checking a
+ * move never throws, so invalid moves can be rejected without building an
+ * exception.
+ */
+public enum MoveLegality {
+	LEGAL("Valid move"),
+	SAME_POSITION("Cannot move to the same position"),
+	NOT_IN_LINE("Invalid direction"),
+	NOT_MOVABLE("Invalid move!"),
+	NOT_A_RABBIT("Must be a rabbit to jump!"),
+	NOT_A_FOX("Must be Fox to slide"),
+	EMPTY_CONTAINER("The hole does not contain a rabbit."),
+	RABBIT_OFF_BOARD("Jumping caused Rabbit to fall off board"),
+	NO_OBSTACLE("Cannot move without obstacles"),
+	FOX_HORIZONTAL("Fox is oriented horizontally!"),
+	FOX_VERTICAL("Fox is oriented vertically!"),
+	FOX_OFF_BOARD("Slide caused fox to fall off board"),
+	FOX_HIT_OBSTACLE("Slide caused fox to hit an obstacle");
+
+	/**
+	 * The message shown to the player when the move is rejected.
+	 */
+	public final String message;
+
+	/**
+	 * Creates a legality with its message.
+	 * @param message The message describing the legality.
+	 */
+	MoveLegality(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * Returns true if the move can be made.
+	 * @return True for LEGAL.
+	 */
+	public boolean isLegal() {
+		return this == LEGAL;
+	}
+}
@@ -0,0 +1,81 @@
+package project.model;
+
+/**
+ * The result of trying a move on a board, either the board after the move
+ * or the reason the move could not be made. Rejected moves share one result
+ * per reason, so trying an invalid move allocates nothing.
+ */
+public final class MoveResult {
+
+    /**
+     * The shared results of rejected moves, indexed by legality.
+     */
+    private static final MoveResult[] ILLEGAL =
+            new MoveResult[MoveLegality.values().length];
+
+    static {
+        for (MoveLegality legality : MoveLegality.values()) {
+            ILLEGAL[legality.ordinal()] = new MoveResult(legality, null);
+        }
+    }
+
+    /**
+     * Whether the move was made, and if not, why.
+     */
+    public final MoveLegality legality;
+
+    /**
+     * The board after the move, or null if the move was rejected.
+     */
+    public final Board board;
+
+    /**
+     * Creates a result.
+     * @param legality Whether the move was made.
+     * @param board The board after the move, or null.
+     */
+    private MoveResult(MoveLegality legality, Board board) {
+        this.legality = legality;
+        this.board = board;
+    }
+
+    /**
+     * Returns the result of a move that was made.
+     * @param board The board after the move.
+     * @return The result holding the board.
+     */
+    static MoveResult legal(Board board) {
+        return new MoveResult(MoveLegality.LEGAL, board);
+    }
+
+    /**
+     * Returns the shared result of a move that was rejected.
+     * @param legality The reason the move was rejected.
+     * @return The result holding the reason.
+     */
+    static MoveResult illegal(MoveLegality legality) {
+        return ILLEGAL[legality.ordinal()];
+    }
+
+    /**
+     * Returns true if the move was made.
+     * @return True if the result holds a board.
+     */
+    public boolean isLegal() {
+        return legality.isLegal();
+    }
+
+    /**
+     * Returns the board after the move, for callers that treat a rejected
+     * move as an error.
+     * @return The board after the move.
+     * @throws InvalidMoveException If the move was rejected.
+     */
+    public Board getBoard() throws InvalidMoveException {
+        if (!isLegal()) {
+            throw new InvalidMoveException(legality.message);
+        }
+
+        return board;
+    }
+}
@@ -4,6 +4,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import project.tui.ItemUIRepresentation;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Represents a mushroom item on the board.
  */
@@ -14,6 +17,12 @@ public final class Mushroom extends SingleBoardItem implements Containable {
      */
     private static Logger logger = LogManager.getLogger(Board.class);
 
+    /**
+     * The shared mushrooms.
+     */
+    private static final ItemCache<Mushroom> CACHE =
+            new ItemCache<>(Mushroom::new);
+
     /**
      * Creates a mushroom at a specific row and column.
      * @param row The row where the mushroom is located.
@@ -23,6 +32,16 @@ public final class Mushroom extends SingleBoardItem implements Containable {
         super(new Coordinate(row, column));
     }
 
+    /**
+     * Returns the mushroom at a coordinate. Mushrooms never move, so the
+     * same instance is returned every time.
+     * @param coordinate The coordinate where the mushroom is located.
+     * @return The mushroom.
+     */
+    public static Mushroom of(Coordinate coordinate) {
+        return CACHE.get(coordinate);
+    }
+
     /**
      * Creates a mushroom at a specific coordinate.
      * @param coordinate The coordinate where the mushroom is located.
@@ -72,18 +91,14 @@ public final class Mushroom extends SingleBoardItem implements Containable {
     }
 
     /**
-     * Will return the XML representation of this mushroom.
-     * @return the XML representation of the mushroom.
+     * Writes the XML representation of this mushroom to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
      */
     @Override
-    public String toXML() {
-        String xml = "<Mushroom>";
-        Coordinate coordinate = this.coordinate.left().get();
-
-        xml = xml + "<Coordinate row=" + '"' + coordinate.row + '"' +
-                " column=" + '"' + coordinate.column + '"' + "/>";
-
-        xml = xml + "</Mushroom>";
-        return xml;
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("<Mushroom>");
+        writeCoordinateXML(writer);
+        writer.write("</Mushroom>");
     }
 }
@@ -0,0 +1,129 @@
+package project.model;
+
+import java.util.Arrays;
+
+/**
+ * A compact, immutable encoding of a board position. Every cell is stored as
+ * a four bit {@link CellCode}, so a 5x5 board fits in two longs. Packed
+ * boards can be converted back to an equal {@link Board} and are cheap to
+ * store in large visited sets.
+ */
+public final class PackedBoard {
+
+    /**
+     * The number of codes stored in each long.
+     */
+    private static final int CODES_PER_WORD = Long.SIZE / CellCode.BITS;
+
+    /**
+     * Mask selecting a single code.
+     */
+    private static final long CODE_MASK = (1L << CellCode.BITS) - 1;
+
+    /**
+     * The number of rows in the board.
+     */
+    public final int numberOfRows;
+
+    /**
+     * The number of columns in the board.
+     */
+    public final int numberOfColumns;
+
+    /**
+     * The gamestate of the packed board.
+     */
+    public final GameState gameState;
+
+    /**
+     * The cell codes, in row major order.
+     */
+    private final long[] cells;
+
+    /**
+     * Packs a board.
+     * @param board The board being packed.
+     * @throws IllegalArgumentException If the board contains an item that
+     * cannot be encoded.
+     */
+    public PackedBoard(Board board) {
+        this.numberOfRows = board.numberOfRows;
+        this.numberOfColumns = board.numberOfColumns;
+        this.gameState = board.currentGameState;
+
+        int cellCount = numberOfRows * numberOfColumns;
+        this.cells = new long[(cellCount + CODES_PER_WORD - 1) / CODES_PER_WORD];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            cells[cell / CODES_PER_WORD] |= (long) board.getCode(cell) <<
+                    ((cell % CODES_PER_WORD) * CellCode.BITS);
+        }
+    }
+
+    /**
+     * Returns the code stored for a cell.
+     * @param row The row of the cell.
+     * @param column The column of the cell.
+     * @return The {@link CellCode} of the cell.
+     */
+    public int getCode(int row, int column) {
+        int cell = row * numberOfColumns + column;
+
+        return (int) ((cells[cell / CODES_PER_WORD] >>>
+                ((cell % CODES_PER_WORD) * CellCode.BITS)) & CODE_MASK);
+    }
+
+    /**
+     * Rebuilds the board described by this encoding.
+     * @return A board equal to the board that was packed.
+     */
+    public Board toBoard() {
+        Board.Builder builder = new Board.Builder(numberOfRows,
+                numberOfColumns);
+
+        for (int row = 0; row < numberOfRows; row++) {
+            for (int column = 0; column < numberOfColumns; column++) {
+                int code = getCode(row, column);
+
+                if (code != CellCode.EMPTY && code != CellCode.FOX_TAIL) {
+                    builder.setItem(CellCode.toItem(code,
+                            Coordinate.of(row, column)));
+                }
+            }
+        }
+
+        return builder.build(gameState);
+    }
+
+    /**
+     * Returns the hashcode of the packed board.
+     * @return The packed board's hashcode.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(cells) + numberOfColumns) +
+                gameState.hashCode();
+    }
+
+    /**
+     * Checks if this packed board describes the same position as another.
+     * @param o The object being compared.
+     * @return True if both encode the same board.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o == null) return false;
+
+        if (this.getClass() != o.getClass())
+            return false;
+
+        PackedBoard packedBoard = (PackedBoard) o;
+
+        return this.numberOfRows == packedBoard.numberOfRows &&
+                this.numberOfColumns == packedBoard.numberOfColumns &&
+                this.gameState == packedBoard.gameState &&
+                Arrays.equals(this.cells, packedBoard.cells);
+    }
+}
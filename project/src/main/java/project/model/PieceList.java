@@ -0,0 +1,97 @@
+package project.model;
+
+/**
+ * The cells holding one kind of piece on a board, as row major cell indexes
+ * kept in ascending order. Boards keep a list for each kind of movable piece
+ * and update it as cells change, so the pieces can be found without looking
+ * at every cell. Like the board, a list is never changed once it has been
+ * handed out.
+ */
+public final class PieceList {
+
+    /**
+     * The cells of the pieces, the first size entries are used.
+     */
+    private int[] cells;
+
+    /**
+     * The number of pieces in the list.
+     */
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    PieceList() {
+        this.cells = new int[4];
+    }
+
+    /**
+     * Creates a copy of another list, which can be changed without changing
+     * the original.
+     * @param list The list being copied.
+     */
+    PieceList(PieceList list) {
+        this.cells = list.cells.clone();
+        this.size = list.size;
+    }
+
+    /**
+     * Returns the number of pieces in the list.
+     * @return The number of pieces.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the cell of a piece.
+     * @param index The position of the piece in the list.
+     * @return The row major index of the cell holding the piece.
+     * @throws ArrayIndexOutOfBoundsException If the index is not below size.
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+
+        return cells[index];
+    }
+
+    /**
+     * Adds the cell of a piece, keeping the cells in order.
+     * @param cell The row major index of the cell.
+     */
+    void add(int cell) {
+        if (size == cells.length) {
+            int[] grown = new int[cells.length * 2];
+            System.arraycopy(cells, 0, grown, 0, size);
+            cells = grown;
+        }
+
+        int index = size;
+
+        while (index > 0 && cells[index - 1] > cell) {
+            cells[index] = cells[index - 1];
+            index--;
+        }
+
+        cells[index] = cell;
+        size++;
+    }
+
+    /**
+     * Removes the cell of a piece, if it is in the list.
+     * @param cell The row major index of the cell.
+     */
+    void remove(int cell) {
+        for (int index = 0; index < size; index++) {
+            if (cells[index] == cell) {
+                System.arraycopy(cells, index + 1, cells, index,
+                        size - index - 1);
+                size--;
+                return;
+            }
+        }
+    }
+}
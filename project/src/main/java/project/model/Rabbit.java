@@ -4,10 +4,10 @@ import com.google.common.base.Optional;
 import io.atlassian.fugue.Either;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.pcollections.PMap;
 import project.tui.ItemUIRepresentation;
 
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.Writer;
 
 public class Rabbit extends SingleBoardItem implements Containable, Movable {
 
@@ -35,115 +35,116 @@ public class Rabbit extends SingleBoardItem implements Containable, Movable {
     }
 
     /**
-     * Computes next coordinate using the to be checked when jumping.
+     * Computes the next coordinate to be checked when jumping.
+     * @param current the coordinate the rabbit has reached.
      * @param direction the direction the rabbit is jumping in.
      * @return new Coordinate based on what direction its jumping.
      */
-    private Coordinate computeCoordinateFromDirection(Direction direction) {
-
-        Coordinate current = this.coordinate.left().get();
+    private static Coordinate computeCoordinateFromDirection(
+            Coordinate current, Direction direction) {
 
         switch (direction) {
             case RIGHT:
-                return new Coordinate(current.row, current.column + 1);
+                return Coordinate.of(current.row, current.column + 1);
             case LEFT:
-                return new Coordinate(current.row, current.column - 1);
+                return Coordinate.of(current.row, current.column - 1);
             case DOWN:
-                return new Coordinate(current.row + 1, current.column);
+                return Coordinate.of(current.row + 1, current.column);
             case UP:
-                return new Coordinate(current.row - 1, current.column);
+                return Coordinate.of(current.row - 1, current.column);
             default:
                 throw new IllegalArgumentException("Invalid Direction.");
         }
     }
 
     /**
-     * Makes a rabbit jump by delegating to another jump method.
+     * Makes a rabbit jump.
      * @param direction direction the rabbit is jumping in.
      * @param slice slice of the board to be checked when performing the jump.
-     * @return calls the other jump method and returns what that jump method
-     * will return.
-     * @throws InvalidMoveException
+     * @return the rabbit at its new coordinates, or the container it landed
+     * in.
+     * @throws InvalidMoveException if the rabbit cannot jump that way.
      */
     public Either<Rabbit, ContainerItem> jump(Direction direction,
-                                              PMap<Coordinate, BoardItem> slice) throws InvalidMoveException {
-       return jump(direction, slice, false);
+                                              BoardSlice slice) throws InvalidMoveException {
+        MoveLegality legality = checkJump(direction, slice);
+
+        if (!legality.isLegal()) {
+            throw new InvalidMoveException(legality.message);
+        }
+
+        return land(direction, slice);
     }
 
     /**
-     * Makes a rabbit jump by using checks if rabbit is currently jumping.
+     * Checks if the rabbit can jump in a direction, without throwing.
+     * A rabbit must jump over at least one obstacle and lands on the first
+     * cell after them, which must be on the board.
      * @param direction direction the rabbit is jumping in.
      * @param slice slice of the board to be checked when performing the jump.
-     * @param isCurrentlyJumping is a boolean to determine if the rabbit is
-     *                           currently jumping.
-     * @return returns updated rabbit with new coordinates.
-     * @throws InvalidMoveException
+     * @return LEGAL, or the reason the rabbit cannot jump.
      */
-    private Either<Rabbit, ContainerItem> jump(Direction direction,
-                                               PMap<Coordinate, BoardItem> slice
-            , boolean isCurrentlyJumping) throws InvalidMoveException {
-        Coordinate coordinate = computeCoordinateFromDirection(direction);
-
-        if (checkIfNotOnBoard(slice, coordinate)) {
-            throw new InvalidMoveException("Jumping caused Rabbit to fall off" +
-                    " board");
-        }
+    public MoveLegality checkJump(Direction direction, BoardSlice slice) {
+        Coordinate next = computeCoordinateFromDirection(
+                this.coordinate.left().get(), direction);
 
-        Rabbit jumpingRabbit = new Rabbit(coordinate);
+        if (!slice.contains(next)) {
+            return MoveLegality.RABBIT_OFF_BOARD;
+        }
 
-        BoardItem item = slice.get(coordinate);
+        if (!slice.isObstacle(next)) {
+            return MoveLegality.NO_OBSTACLE;
+        }
 
-        // Found obstacle
-        //Perform Jump
-        if (item.isObstacle()){
-            return jumpingRabbit.jump(direction, slice, true);
+        if (!slice.contains(computeLanding(direction, slice))) {
+            return MoveLegality.RABBIT_OFF_BOARD;
         }
 
-        // Could be empty hole or empty item
+        return MoveLegality.LEGAL;
+    }
 
-        // R M E  ==> obstacle found, keep going,
+    /**
+     * Makes a rabbit jump that has already been checked.
+     * @param direction direction the rabbit is jumping in.
+     * @param slice slice of the board to be checked when performing the jump.
+     * @return the rabbit at its new coordinates, or the container it landed
+     * in.
+     */
+    Either<Rabbit, ContainerItem> land(Direction direction, BoardSlice slice) {
+        Coordinate coordinate = computeLanding(direction, slice);
+        Rabbit jumpingRabbit = new Rabbit(coordinate);
 
-        // R E E  => error
+        if (!slice.isContainer(coordinate)) {
+            return Either.left(jumpingRabbit);
+        }
 
         // R M H => E M H(R)
-
-        // Not found obstacle
-        if (isCurrentlyJumping) {
-
-            if (item instanceof ContainerItem) {
-                ContainerItem newContainerItem;
-                if (item instanceof Hole) {
-                    newContainerItem = new Hole(coordinate, Optional.of(jumpingRabbit));
-                } else {
-                    newContainerItem = new ElevatedBoardItem(coordinate,
-                            Optional.of(jumpingRabbit));
-                }
-                return Either.right(newContainerItem);
-            } else {
-                return Either.left(jumpingRabbit);
-            }
-        } else {
-            throw new InvalidMoveException("Cannot move without obstacles");
+        if (slice.get(coordinate) instanceof Hole) {
+            return Either.right(new Hole(coordinate,
+                    Optional.of(jumpingRabbit)));
         }
+
+        return Either.right(new ElevatedBoardItem(coordinate,
+                Optional.of(jumpingRabbit)));
     }
 
     /**
-     * check if rabbit fell off the board while jumping.
-     * @param slice slice of the board to check for the jump.
-     * @param nextCoordinates the coordinates the rabbit is jumping to.
-     * @return boolean depending on if the rabbit is on the board or not,
-     * false if the rabbit is on the board, true otherwise.
+     * Finds the first cell after the obstacles next to the rabbit.
+     * @param direction direction the rabbit is jumping in.
+     * @param slice slice of the board to be checked when performing the jump.
+     * @return the coordinate the rabbit lands on, which may be off the
+     * board.
      */
-    private boolean checkIfNotOnBoard(
-            PMap<Coordinate, BoardItem> slice, Coordinate nextCoordinates
-    ) {
-        HashSet<Coordinate> coordinateSet = new HashSet<>(slice.keySet());
+    private Coordinate computeLanding(Direction direction, BoardSlice slice) {
+        Coordinate next = computeCoordinateFromDirection(
+                this.coordinate.left().get(), direction);
 
-        if (!coordinateSet.contains(nextCoordinates)) {
-            return true;
+        // R M E  ==> obstacle found, keep going
+        while (slice.contains(next) && slice.isObstacle(next)) {
+            next = computeCoordinateFromDirection(next, direction);
         }
 
-        return false;
+        return next;
     }
 
     /**
@@ -186,18 +187,14 @@ public class Rabbit extends SingleBoardItem implements Containable, Movable {
     }
 
     /**
-     * Will return the XML representation of this rabbit.
-     * @return the XML representation of the rabbit.
+     * Writes the XML representation of this rabbit to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
      */
     @Override
-    public String toXML() {
-        String xml = "<Rabbit>";
-        Coordinate coordinate = this.coordinate.left().get();
-
-        xml = xml + "<Coordinate row=" + '"' + coordinate.row + '"' +
-                " column=" + '"' + coordinate.column + '"' + "/>";
-
-        xml = xml + "</Rabbit>";
-        return xml;
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("<Rabbit>");
+        writeCoordinateXML(writer);
+        writer.write("</Rabbit>");
     }
 }
@@ -1,5 +1,8 @@
 package project.model;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Specifies a board item with a single coordinate.
  */
@@ -12,4 +15,19 @@ public abstract class SingleBoardItem extends BoardItem{
     public SingleBoardItem(Coordinate coordinate) {
         super(coordinate);
     }
+
+    /**
+     * Writes the Coordinate element of the item to a writer.
+     * @param writer The writer the XML is written to.
+     * @throws IOException If the writer fails.
+     */
+    protected void writeCoordinateXML(Writer writer) throws IOException {
+        Coordinate coordinate = this.coordinate.left().get();
+
+        writer.write("<Coordinate row=\"");
+        writer.write(Integer.toString(coordinate.row));
+        writer.write("\" column=\"");
+        writer.write(Integer.toString(coordinate.column));
+        writer.write("\"/>");
+    }
 }
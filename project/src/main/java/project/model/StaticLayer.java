@@ -0,0 +1,208 @@
+package project.model;
+
+/**
+ * The parts of a level that never move during a game: where the holes,
+ * elevated cells and mushrooms are, and which cell lies next to which. A
+ * board builds its layer once and every board reached from it by moving
+ * rabbits and foxes shares the same layer, so these questions are answered
+ * from a table instead of by looking at the items of each position. Cells are
+ * numbered row * numberOfColumns + column.
+ */
+public final class StaticLayer {
+
+    /**
+     * The number of rows of the level.
+     */
+    public final int numberOfRows;
+
+    /**
+     * The number of columns of the level.
+     */
+    public final int numberOfColumns;
+
+    /**
+     * True for every cell that is a hole.
+     */
+    private final boolean[] holes;
+
+    /**
+     * True for every cell that is an elevated cell.
+     */
+    private final boolean[] elevated;
+
+    /**
+     * True for every cell holding a mushroom, on its own or in a container.
+     */
+    private final boolean[] mushrooms;
+
+    /**
+     * True for every cell sharing its row or column with a hole.
+     */
+    private final boolean[] inLineWithHole;
+
+    /**
+     * The neighbouring cell in each direction, indexed by direction ordinal
+     * then cell, or -1 at the edge of the board.
+     */
+    private final int[][] neighbours;
+
+    /**
+     * The holes and elevated cells as a bitboard, 0 for boards with more
+     * than {@link Board#MAX_BITBOARD_CELLS} cells.
+     */
+    private final long containerBits;
+
+    /**
+     * Builds the layer of a level from the cell codes of one of its
+     * positions.
+     * @param rows The number of rows of the level.
+     * @param columns The number of columns of the level.
+     * @param codes The {@link CellCode} of every cell.
+     */
+    StaticLayer(int rows, int columns, byte[] codes) {
+        this.numberOfRows = rows;
+        this.numberOfColumns = columns;
+        this.holes = new boolean[codes.length];
+        this.elevated = new boolean[codes.length];
+        this.mushrooms = new boolean[codes.length];
+        this.neighbours = new int[Direction.values().length][codes.length];
+
+        boolean bitboard = codes.length <= Board.MAX_BITBOARD_CELLS;
+        long containers = 0;
+
+        for (int cell = 0; cell < codes.length; cell++) {
+            int code = codes[cell];
+
+            holes[cell] = code >= CellCode.HOLE && code <= CellCode.HOLE_MUSHROOM;
+            elevated[cell] = code >= CellCode.ELEVATED &&
+                    code <= CellCode.ELEVATED_MUSHROOM;
+            mushrooms[cell] = code == CellCode.MUSHROOM ||
+                    code == CellCode.HOLE_MUSHROOM ||
+                    code == CellCode.ELEVATED_MUSHROOM;
+
+            if (bitboard && CellCode.isContainer(code)) {
+                containers |= 1L << cell;
+            }
+
+            int row = cell / columns;
+            int column = cell % columns;
+
+            neighbours[Direction.UP.ordinal()][cell] =
+                    row > 0 ? cell - columns : -1;
+            neighbours[Direction.DOWN.ordinal()][cell] =
+                    row < rows - 1 ? cell + columns : -1;
+            neighbours[Direction.LEFT.ordinal()][cell] =
+                    column > 0 ? cell - 1 : -1;
+            neighbours[Direction.RIGHT.ordinal()][cell] =
+                    column < columns - 1 ? cell + 1 : -1;
+        }
+
+        this.containerBits = containers;
+        this.inLineWithHole = new boolean[codes.length];
+
+        boolean[] holeRows = new boolean[rows];
+        boolean[] holeColumns = new boolean[columns];
+
+        for (int cell = 0; cell < codes.length; cell++) {
+            if (holes[cell]) {
+                holeRows[cell / columns] = true;
+                holeColumns[cell % columns] = true;
+            }
+        }
+
+        for (int cell = 0; cell < codes.length; cell++) {
+            inLineWithHole[cell] = holeRows[cell / columns] ||
+                    holeColumns[cell % columns];
+        }
+    }
+
+    /**
+     * Returns the part of a cell code that belongs to the static layer, so
+     * boards can tell when a change to a cell changes the layer.
+     * @param code The {@link CellCode} of a cell.
+     * @return The code with any rabbit or fox removed.
+     */
+    static int staticCode(int code) {
+        switch (code) {
+            case CellCode.HOLE_RABBIT:
+                return CellCode.HOLE;
+            case CellCode.ELEVATED_RABBIT:
+                return CellCode.ELEVATED;
+            case CellCode.MUSHROOM:
+            case CellCode.HOLE:
+            case CellCode.HOLE_MUSHROOM:
+            case CellCode.ELEVATED:
+            case CellCode.ELEVATED_MUSHROOM:
+                return code;
+            default:
+                return CellCode.EMPTY;
+        }
+    }
+
+    /**
+     * Returns true if a cell is a hole.
+     * @param cell The index of the cell.
+     * @return True for a hole, whatever it holds.
+     */
+    public boolean isHole(int cell) {
+        return holes[cell];
+    }
+
+    /**
+     * Returns true if a cell is an elevated cell.
+     * @param cell The index of the cell.
+     * @return True for an elevated cell, whatever it holds.
+     */
+    public boolean isElevated(int cell) {
+        return elevated[cell];
+    }
+
+    /**
+     * Returns true if a cell is a hole or an elevated cell, which foxes
+     * cannot slide over.
+     * @param cell The index of the cell.
+     * @return True for a container.
+     */
+    public boolean isContainer(int cell) {
+        return holes[cell] || elevated[cell];
+    }
+
+    /**
+     * Returns true if a cell shares its row or column with a hole, so a
+     * rabbit on it might reach a hole in a single jump.
+     * @param cell The index of the cell.
+     * @return True if there is a hole in the cell's row or column.
+     */
+    public boolean isInLineWithHole(int cell) {
+        return inLineWithHole[cell];
+    }
+
+    /**
+     * Returns true if a cell holds a mushroom.
+     * @param cell The index of the cell.
+     * @return True if the cell, or the container in it, holds a mushroom.
+     */
+    public boolean hasMushroom(int cell) {
+        return mushrooms[cell];
+    }
+
+    /**
+     * Returns the cell next to a cell.
+     * @param cell The index of the cell.
+     * @param direction The direction of the neighbour.
+     * @return The index of the neighbour, or -1 at the edge of the board.
+     */
+    public int getNeighbour(int cell, Direction direction) {
+        return neighbours[direction.ordinal()][cell];
+    }
+
+    /**
+     * Returns the holes and elevated cells as a bitboard, laid out like
+     * {@link Board#getObstacleBits()}.
+     * @return The container bitboard, or 0 if the board has more than
+     * {@link Board#MAX_BITBOARD_CELLS} cells.
+     */
+    public long getContainerBits() {
+        return containerBits;
+    }
+}
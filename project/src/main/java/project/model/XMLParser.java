@@ -4,19 +4,26 @@ import com.google.common.base.Optional;
 import io.atlassian.fugue.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Handles saving and parsing a board to an XML file.
+ *
+ * Boards are read with a streaming reader straight into a
+ * {@link Board.Builder}, without building a document first. A file holds
+ * either a single Board element, or a Boards element containing any number of
+ * them, which are read one at a time. The size of a board is read from its
+ * rows and columns attributes, and boards written before these were added
+ * are read as 5x5.
  */
 public class XMLParser {
 
@@ -25,6 +32,31 @@ public class XMLParser {
      */
     private static Logger logger = LogManager.getLogger(Board.class);
 
+    /**
+     * The size of boards saved without their rows and columns.
+     */
+    public static final int DEFAULT_SIZE = 5;
+
+    /**
+     * The factory creating the readers, which is only configured here and
+     * can then be shared between threads.
+     */
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    /**
+     * Creates the reader factory, with document type declarations and
+     * external entities turned off since level files never need them.
+     * @return The factory.
+     */
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(
+                XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        return factory;
+    }
+
     /**
      * Writes a board into an XML encoded file.
      * @param board The board being saved.
@@ -32,240 +64,351 @@ public class XMLParser {
      * @throws IOException If the buffered writer fails.
      */
     public static void writeToXMLFile(Board board, String fileName) throws IOException {
-        BufferedWriter writer = new BufferedWriter(new FileWriter(fileName +
-                ".XML"));
-        writer.write(board.toXML());
-        writer.close();
+        try (OutputStream output = new FileOutputStream(fileName + ".XML")) {
+            writeBoard(board, output);
+        }
     }
 
     /**
-     * Returns a BoardItem described by an XML node?
-     * @param node The current element.
-     * @return The BoardItem contained in the node.
+     * Writes several boards into a single XML encoded file, which can be
+     * read back with {@link #boardsFromXML(File)}.
+     * @param boards The boards being saved.
+     * @param file The file they are saved to, given with its extension.
+     * @throws IOException If the buffered writer fails.
      */
-    private static BoardItem itemFromXML(Node node) {
-        Coordinate failCoord = new Coordinate(-1, -1);
-        BoardItem itemToAdd = new EmptyBoardItem(failCoord);
-
-        if (node.getNodeType() == Node.ELEMENT_NODE) {
-
-            if (!node.getNodeName().equals("Coordinate")) {
-
-                //If it has more than 1 child, its containable item
-                if (node.getChildNodes().getLength() != 1) {
-
-                    Optional<Containable> optional =
-                            Optional.of(new Rabbit(-1, -1));
-                    Coordinate containableCoordinate =
-                            XMLParser.coordinateFromXML(node.getChildNodes());
-
-                    for (int i = 0; i < node.getChildNodes().getLength(); i++) {
-
-                        if (node.getChildNodes().item(i).getNodeName().equals("Rabbit")) {
-                            Rabbit rabbit = new Rabbit (containableCoordinate);
-                            optional = Optional.of(rabbit);
-                        }
-
-                        if (node.getChildNodes().item(i).getNodeName().equals("Mushroom")) {
-                            Mushroom mushroom =
-                                    new Mushroom(containableCoordinate);
-                            optional = Optional.of(mushroom);
-                        }
+    public static void writeToXMLFile(Iterable<Board> boards, File file)
+            throws IOException {
+        try (OutputStream output = new FileOutputStream(file)) {
+            writeBoards(boards, output);
+        }
+    }
 
+    /**
+     * Writes a board as UTF-8 encoded XML to a stream.
+     * @param board The board being written.
+     * @param output The stream it is written to, which is flushed but not
+     *               closed.
+     * @throws IOException If the stream fails.
+     */
+    public static void writeBoard(Board board, OutputStream output)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output,
+                StandardCharsets.UTF_8));
 
+        board.writeXML(writer);
+        writer.flush();
+    }
 
-                    }
+    /**
+     * Writes boards as a single XML document to a writer, one board at a
+     * time, so the boards can come from a generator without being held in
+     * memory together.
+     * @param boards The boards being written.
+     * @param writer The writer they are written to, which is not closed.
+     * @throws IOException If the writer fails.
+     */
+    public static void writeBoards(Iterable<Board> boards, Writer writer)
+            throws IOException {
+        writer.write("<Boards>");
 
-                    if (node.getNodeName().equals("ElevatedBoardItem")) {
-                        //if optional is -1, -1 coordinate. This is broken.
-                        itemToAdd =
-                                new ElevatedBoardItem(containableCoordinate, optional);
-                    }
+        for (Board board : boards) {
+            board.writeXML(writer);
+        }
 
-                    if (node.getNodeName().equals("Hole")) {
-                        //if optional is -1, -1 coordinate. This is broken.
-                        itemToAdd =
-                                new Hole(containableCoordinate, optional);
-                    }
+        writer.write("</Boards>");
+    }
 
-                } else {
-                    //not containable
-                    if (node.getNodeName().equals("Fox")) {
-                        Pair<Coordinate, Coordinate> coordinates =
-                                XMLParser.foxCoordinateFromXML(node.getChildNodes());
+    /**
+     * Writes boards as a single UTF-8 encoded XML document to a stream.
+     * @param boards The boards being written.
+     * @param output The stream they are written to, which is flushed but not
+     *               closed.
+     * @throws IOException If the stream fails.
+     */
+    public static void writeBoards(Iterable<Board> boards, OutputStream output)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output,
+                StandardCharsets.UTF_8));
 
-                        itemToAdd = new Fox(coordinates);
+        writeBoards(boards, writer);
+        writer.flush();
+    }
 
+    /**
+     * Reads the item element the reader is at, and leaves the reader at its
+     * end element.
+     * @param reader The reader, at the start of an item element.
+     * @return The BoardItem described by the element.
+     * @throws XMLStreamException If the element is not a valid item.
+     */
+    private static BoardItem readItem(XMLStreamReader reader)
+            throws XMLStreamException {
+        String name = reader.getLocalName();
+        Coordinate coordinate = null;
+        Pair<Coordinate, Coordinate> foxCoordinates = null;
+        String containedName = null;
+        int depth = 1;
+
+        while (depth > 0) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+
+                // Only the item's own coordinate and contained item matter,
+                // the contained item repeats the coordinate
+                if (depth == 2) {
+                    String childName = reader.getLocalName();
+
+                    if (childName.equals("Coordinate")) {
+                        coordinate = readCoordinate(reader);
+                    } else if (childName.equals("CoordinatePair")) {
+                        foxCoordinates = readFoxCoordinates(reader);
                     } else {
-                        //Only 1 coordinate
-                        Coordinate coordinate =
-                                XMLParser.coordinateFromXML(node.getChildNodes());
-
-                        if (node.getNodeName().equals("Empty")) {
-                            itemToAdd = new EmptyBoardItem(coordinate);
-                        }
-
-                        else if (node.getNodeName().equals("Hole")) {
-                            itemToAdd = new Hole(coordinate,
-                                    Optional.absent());
-                        }
-
-                        else if (node.getNodeName().equals("ElevatedBoardItem")) {
-                            itemToAdd = new ElevatedBoardItem(coordinate,
-                                    Optional.absent());
-                        }
-
-                        else if (node.getNodeName().equals("Rabbit")) {
-                            itemToAdd = new Rabbit(coordinate);
-                        }
-
-                        else if (node.getNodeName().equals("Mushroom")) {
-                            itemToAdd = new Mushroom(coordinate);
-                        }
-
+                        containedName = childName;
                     }
-
                 }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
 
+        if (name.equals("Fox")) {
+            if (foxCoordinates == null) {
+                throw new XMLStreamException("Fox without coordinates",
+                        reader.getLocation());
             }
 
+            return new Fox(foxCoordinates);
         }
 
-        return itemToAdd;
+        if (coordinate == null) {
+            throw new XMLStreamException(name + " without a coordinate",
+                    reader.getLocation());
+        }
+
+        switch (name) {
+            case "Empty":
+                return EmptyBoardItem.of(coordinate);
+            case "Rabbit":
+                return new Rabbit(coordinate);
+            case "Mushroom":
+                return Mushroom.of(coordinate);
+            case "Hole":
+                return containedName == null ? Hole.empty(coordinate) :
+                        new Hole(coordinate, readContained(reader,
+                                containedName, coordinate));
+            case "ElevatedBoardItem":
+                return containedName == null ?
+                        ElevatedBoardItem.empty(coordinate) :
+                        new ElevatedBoardItem(coordinate, readContained(
+                                reader, containedName, coordinate));
+            default:
+                throw new XMLStreamException("Unknown board item " + name,
+                        reader.getLocation());
+        }
     }
 
     /**
-     * Returns the pair of coordinates of a fox in an xml file.
-     * @param nodeList The two nodes containing the fox.
-     * @return The pair of coordinates of the fox.
+     * Returns the item held by a hole or elevated cell.
+     * @param reader The reader, for the location of any error.
+     * @param name The name of the contained item's element.
+     * @param coordinate The coordinate of the container.
+     * @return The contained rabbit or mushroom.
+     * @throws XMLStreamException If the item cannot be held by a container.
      */
-    private static Pair<Coordinate, Coordinate> foxCoordinateFromXML(NodeList nodeList) {
-        int headRow = -1;
-        int headColumn = -1;
-        int tailRow = -1;
-        int tailColumn = -1;
-
-        for (int count = 0; count < nodeList.getLength(); count++) {
-            Node tempNode = nodeList.item(count);
-
-            if (tempNode.getNodeName().equals("CoordinatePair")) {
-                // get attributes names and values
-                NamedNodeMap nodeMap = tempNode.getAttributes();
-
-
-                for (int i = 0; i < nodeMap.getLength(); i++) {
-
-                    Node node = nodeMap.item(i);
-
-                    if (node.getNodeName().equals("headRow")) {
-                        headRow = Integer.parseInt(node.getNodeValue());
-                    }
-
-                    if (node.getNodeName().equals("headColumn")) {
-                        headColumn = Integer.parseInt(node.getNodeValue());
-                    }
-
-                    if (node.getNodeName().equals("tailRow")) {
-                        tailRow = Integer.parseInt(node.getNodeValue());
-                    }
-
-                    if (node.getNodeName().equals("tailColumn")) {
-                        tailColumn = Integer.parseInt(node.getNodeValue());
-                    }
-
-                }
-            }
+    private static Optional<Containable> readContained(XMLStreamReader reader,
+                                                       String name,
+                                                       Coordinate coordinate)
+            throws XMLStreamException {
+        if (name.equals("Rabbit")) {
+            return Optional.of(new Rabbit(coordinate));
         }
 
-        if (headRow == -1 || headColumn == -1 || tailRow == -1 || tailColumn == -1) {
-            Coordinate head = new Coordinate(headRow, headColumn);
-            Coordinate tail = new Coordinate(tailRow, tailColumn);
-            logger.error("ERROR: " + Pair.pair(head, tail));
-            throw new RuntimeException("Getting coordinate is broken!");
+        if (name.equals("Mushroom")) {
+            return Optional.of(Mushroom.of(coordinate));
         }
 
-        Coordinate head = new Coordinate(headRow, headColumn);
-        Coordinate tail = new Coordinate(tailRow, tailColumn);
+        throw new XMLStreamException(name + " cannot be contained",
+                reader.getLocation());
+    }
 
-        return Pair.pair(head, tail);
+    /**
+     * Returns the pair of coordinates of a fox in an xml file.
+     * @param reader The reader, at the start of a CoordinatePair element.
+     * @return The pair of coordinates of the fox.
+     * @throws XMLStreamException If an attribute is missing or not a number.
+     */
+    private static Pair<Coordinate, Coordinate> readFoxCoordinates(
+            XMLStreamReader reader) throws XMLStreamException {
+        Coordinate head = Coordinate.of(readInt(reader, "headRow"),
+                readInt(reader, "headColumn"));
+        Coordinate tail = Coordinate.of(readInt(reader, "tailRow"),
+                readInt(reader, "tailColumn"));
 
+        return Pair.pair(head, tail);
     }
 
     /**
      * Returns the coordinate of the current element.
-     * @param nodeList The node containing the current element's coordinates.
+     * @param reader The reader, at the start of a Coordinate element.
      * @return The coordinate of the element.
+     * @throws XMLStreamException If an attribute is missing or not a number.
      */
-    private static Coordinate coordinateFromXML(NodeList nodeList) {
-
-        int row = -1;
-        int column = -1;
+    private static Coordinate readCoordinate(XMLStreamReader reader)
+            throws XMLStreamException {
+        return Coordinate.of(readInt(reader, "row"),
+                readInt(reader, "column"));
+    }
 
-        for (int count = 0; count < nodeList.getLength(); count++) {
-            Node tempNode = nodeList.item(count);
+    /**
+     * Returns an attribute of the current element as a number.
+     * @param reader The reader, at the start of an element.
+     * @param name The name of the attribute.
+     * @return The value of the attribute.
+     * @throws XMLStreamException If the attribute is missing or not a number.
+     */
+    private static int readInt(XMLStreamReader reader, String name)
+            throws XMLStreamException {
+        String value = reader.getAttributeValue(null, name);
 
-            if (tempNode.getNodeName().equals("Coordinate")) {
-                // get attributes names and values
-                NamedNodeMap nodeMap = tempNode.getAttributes();
+        if (value == null) {
+            throw new XMLStreamException(reader.getLocalName() +
+                    " is missing " + name, reader.getLocation());
+        }
 
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException(name + " is not a number: " + value,
+                    reader.getLocation(), e);
+        }
+    }
 
-                for (int i = 0; i < nodeMap.getLength(); i++) {
+    /**
+     * Returns an attribute of the current element as a number, or a default
+     * if it is missing.
+     * @param reader The reader, at the start of an element.
+     * @param name The name of the attribute.
+     * @param defaultValue The value used when the attribute is missing.
+     * @return The value of the attribute.
+     * @throws XMLStreamException If the attribute is not a number.
+     */
+    private static int readInt(XMLStreamReader reader, String name,
+                               int defaultValue) throws XMLStreamException {
+        if (reader.getAttributeValue(null, name) == null) {
+            return defaultValue;
+        }
 
-                    Node node = nodeMap.item(i);
+        return readInt(reader, name);
+    }
 
-                    if (node.getNodeName().equals("row")) {
-                        row = Integer.parseInt(node.getNodeValue());
-                    }
+    /**
+     * Reads the board element the reader is at, and leaves the reader at
+     * its end element.
+     * @param reader The reader, at the start of a Board element.
+     * @return The board described by the element.
+     * @throws XMLStreamException If the element is not a valid board.
+     */
+    private static Board readBoard(XMLStreamReader reader)
+            throws XMLStreamException {
+        Board.Builder builder = new Board.Builder(
+                readInt(reader, "rows", DEFAULT_SIZE),
+                readInt(reader, "columns", DEFAULT_SIZE));
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            builder.setItem(readItem(reader));
+        }
 
-                    if (node.getNodeName().equals("column")) {
-                        column = Integer.parseInt(node.getNodeValue());
-                    }
+        return builder.build();
+    }
 
+    /**
+     * Reads every board of an XML document in turn, handing each to a
+     * consumer as soon as it has been read so only one board is held at a
+     * time.
+     * @param input The stream containing the document, which is not closed.
+     * @param consumer Receives the boards in the order of the document.
+     * @throws XMLStreamException If the document is not valid.
+     */
+    public static void readBoards(InputStream input, Consumer<Board> consumer)
+            throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT &&
+                        reader.getLocalName().equals("Board")) {
+                    consumer.accept(readBoard(reader));
                 }
             }
+        } finally {
+            reader.close();
         }
+    }
 
-        if (row == -1 || column == -1) {
-            logger.error(row + " : " + column);
-            throw new RuntimeException("Getting coordinate is broken!");
+    /**
+     * Reads every board of an XML file.
+     * @param file The file, given with its extension.
+     * @return The boards in the order of the file.
+     * @throws IOException If the file cannot be read.
+     * @throws XMLStreamException If the file is not a valid document.
+     */
+    public static List<Board> boardsFromXML(File file)
+            throws IOException, XMLStreamException {
+        List<Board> boards = new ArrayList<>();
+
+        try (InputStream input = new BufferedInputStream(
+                new FileInputStream(file))) {
+            readBoards(input, boards::add);
         }
 
-        return new Coordinate(row, column);
+        return boards;
     }
 
     /**
      * Reads a board from a given XML file and returns the board constructed from the file.
      * @param fileName The name of the file containing the board's XML representation.
      * @return The board represented by the xml file.
-     * @throws IOException If the document reader fails.
-     * @throws ParserConfigurationException If the document parser fails.
-     * @throws SAXException If the SAX parser fails.
+     * @throws IOException If the file cannot be read.
+     * @throws XMLStreamException If the file is not a valid board.
      */
-    public static Board boardFromXML(String fileName) throws IOException, ParserConfigurationException, SAXException {
+    public static Board boardFromXML(String fileName) throws IOException, XMLStreamException {
 
         //If user did not enter a value, save to file called "default.XML".
-        System.out.println("FILENAME: " + fileName);
+        logger.debug("FILENAME: " + fileName);
         if (fileName.equals("")) {
-            System.out.println(fileName);
             fileName = "default";
         }
 
-        File file = new File(fileName + ".XML");
-
-        DocumentBuilder dBuilder = DocumentBuilderFactory.newInstance()
-                .newDocumentBuilder();
-
-        Document doc = dBuilder.parse(file);
-
-        Board board = new Board(5, 5);
+        return boardFromXML(new File(fileName + ".XML"));
+    }
 
-        NodeList boardElements = doc.getDocumentElement().getChildNodes();
-        for (int count = 0; count < boardElements.getLength(); count++) {
-            //loop through the items and add them to the board
-            board =
-                    board.setItem(XMLParser.itemFromXML(boardElements.item(count)));
+    /**
+     * Reads a board from an XML file, given with its extension. If the file
+     * holds several boards the first is returned.
+     * @param file The file containing the board's XML representation.
+     * @return The board represented by the xml file.
+     * @throws IOException If the file cannot be read.
+     * @throws XMLStreamException If the file is not a valid board.
+     */
+    public static Board boardFromXML(File file) throws IOException, XMLStreamException {
+        try (InputStream input = new BufferedInputStream(
+                new FileInputStream(file))) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT &&
+                            reader.getLocalName().equals("Board")) {
+                        return readBoard(reader);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
         }
 
-        return board;
+        throw new XMLStreamException(file + " does not contain a board");
     }
 }
@@ -0,0 +1,52 @@
+package project.model;
+
+/**
+ * Zobrist hashing of board positions. Every (cell, {@link CellCode}) pair has
+ * a fixed random 64 bit key and the hash of a position is the xor of the keys
+ * of all of its cells, so changing a single cell only needs two xors.
+ * Empty cells have a key of zero.
+ */
+public final class Zobrist {
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a code stored in a cell.
+     * @param cell The row major index of the cell.
+     * @param code The {@link CellCode} stored in the cell.
+     * @return The 64 bit key, zero for an empty cell.
+     */
+    public static long key(int cell, int code) {
+        if (code == CellCode.EMPTY) {
+            return 0;
+        }
+
+        // SplitMix64 finalizer, gives well distributed keys without a table
+        long z = ((long) cell * CellCode.COUNT + code) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the hash of a whole board from scratch. Boards keep the same
+     * hash up to date as they change, see {@link Board#getPositionHash()}.
+     * @param board The board being hashed.
+     * @return The 64 bit hash of the position.
+     */
+    public static long hash(Board board) {
+        long hash = 0;
+
+        for (int row = 0; row < board.numberOfRows; row++) {
+            for (int column = 0; column < board.numberOfColumns; column++) {
+                int cell = row * board.numberOfColumns + column;
+                int code = CellCode.of(board.getItem(cell), row, column);
+
+                hash ^= key(cell, code);
+            }
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,162 @@
+package project.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size table of searched positions that many threads can visit at
+ * once without locking. Like {@link TranspositionTable} it remembers the
+ * shallowest depth each position was searched at, groups entries in small
+ * buckets and evicts the deepest entry of a full bucket.
+ *
+ * Each entry is a single long holding the high 56 bits of the position's
+ * hash and its depth in the low byte, so an entry is always read and
+ * replaced as a whole with compare and set. Two threads reaching the same
+ * new position at the same time may both be told to search it, which only
+ * costs the repeated work.
+ */
+public class ConcurrentTranspositionTable {
+
+    /**
+     * The number of entries that share a bucket.
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    /**
+     * The bits of an entry holding the depth.
+     */
+    private static final long DEPTH_MASK = 0xFF;
+
+    /**
+     * The deepest depth that can be stored.
+     */
+    private static final int MAX_STORED_DEPTH = (int) DEPTH_MASK - 1;
+
+    /**
+     * The stored entries, zero marks an empty entry.
+     */
+    private final AtomicLongArray entries;
+
+    /**
+     * Mask used to find the bucket of a hash.
+     */
+    private final int bucketMask;
+
+    /**
+     * Creates a table using the default amount of memory of a
+     * {@link TranspositionTable}.
+     */
+    public ConcurrentTranspositionTable() {
+        this(TranspositionTable.DEFAULT_MEMORY_BYTES);
+    }
+
+    /**
+     * Creates a table that uses at most the given amount of memory.
+     * @param maxBytes The memory the table may use, in bytes.
+     * @throws IllegalArgumentException If the memory is too small for a
+     * single bucket.
+     */
+    public ConcurrentTranspositionTable(long maxBytes) {
+        long maxBuckets = maxBytes / ((long) Long.BYTES * BUCKET_SIZE);
+
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("Transposition table needs at " +
+                    "least " + Long.BYTES * BUCKET_SIZE + " bytes");
+        }
+
+        // Round down to a power of two, capped so the array can be indexed
+        int buckets = Integer.highestOneBit((int) Math.min(maxBuckets,
+                Integer.MAX_VALUE / BUCKET_SIZE));
+
+        this.entries = new AtomicLongArray(buckets * BUCKET_SIZE);
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Records that a position is about to be searched at a depth.
+     * @param hash The Zobrist hash of the position.
+     * @param depth The depth the position was reached at.
+     * @return True if the position should be searched, false if it was
+     * already searched at the same or a shallower depth.
+     */
+    public boolean visit(long hash, int depth) {
+        long key = hash & ~DEPTH_MASK;
+        long entry = key | (Math.min(depth, MAX_STORED_DEPTH) + 1);
+        int bucket = bucketIndex(hash);
+
+        while (true) {
+            int replace = -1;
+            long replaced = 0;
+
+            for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+                long stored = entries.get(i);
+
+                if (stored == 0) {
+                    if (replace == -1 || replaced != 0) {
+                        replace = i;
+                        replaced = 0;
+                    }
+                    continue;
+                }
+
+                if ((stored & ~DEPTH_MASK) == key) {
+                    if ((stored & DEPTH_MASK) <= (entry & DEPTH_MASK)) {
+                        return false;
+                    }
+
+                    replace = i;
+                    replaced = stored;
+                    break;
+                }
+
+                if (replace == -1 || (replaced != 0 &&
+                        (stored & DEPTH_MASK) > (replaced & DEPTH_MASK))) {
+                    replace = i;
+                    replaced = stored;
+                }
+            }
+
+            // If another thread changed the entry, look at the bucket again
+            if (entries.compareAndSet(replace, replaced, entry)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns true if a position has been stored.
+     * @param hash The Zobrist hash of the position.
+     * @return True if the position is in the table.
+     */
+    public boolean contains(long hash) {
+        long key = hash & ~DEPTH_MASK;
+        int bucket = bucketIndex(hash);
+
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long stored = entries.get(i);
+
+            if (stored != 0 && (stored & ~DEPTH_MASK) == key) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     * @return The capacity of the table.
+     */
+    public int capacity() {
+        return entries.length();
+    }
+
+    /**
+     * Returns the index of the first entry in the bucket of a hash.
+     * @param hash The Zobrist hash of the position.
+     * @return The index of the bucket's first entry.
+     */
+    private int bucketIndex(long hash) {
+        // The low bits of the key are well mixed by the Zobrist keys
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+}
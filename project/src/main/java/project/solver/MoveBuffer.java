@@ -0,0 +1,205 @@
+package project.solver;
+
+import project.model.Board;
+import project.model.CellCode;
+import project.model.Coordinate;
+
+/**
+ * A reusable buffer of moves packed into ints, filled by
+ * {@link Solver#generateMoves(Board, MoveBuffer)}. Each move stores the row
+ * major index of the cell it starts from, the cell it ends on and the kind of
+ * piece moved. The buffer also keeps the coordinates of the cells of the
+ * last board it was filled from, so they are only created once per board
+ * size. After the first few positions the buffer stops growing and filling
+ * it allocates nothing.
+ */
+public class MoveBuffer {
+
+    /**
+     * The kind of a move made by a rabbit, including rabbits in holes.
+     */
+    public static final int RABBIT = 0;
+
+    /**
+     * The kind of a move made by a fox.
+     */
+    public static final int FOX = 1;
+
+    /**
+     * The number of bits used for each cell index.
+     */
+    private static final int CELL_BITS = 15;
+
+    /**
+     * Mask selecting a cell index.
+     */
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+    /**
+     * The packed moves.
+     */
+    private int[] moves = new int[32];
+
+    /**
+     * The number of moves in the buffer.
+     */
+    private int size;
+
+    /**
+     * The number of rows of the board the buffer was last filled from.
+     */
+    private int numberOfRows;
+
+    /**
+     * The number of columns of the board the buffer was last filled from.
+     */
+    private int numberOfColumns;
+
+    /**
+     * The coordinate of every cell, kept as long as the board size does not
+     * change.
+     */
+    private Coordinate[] coordinates = new Coordinate[0];
+
+    /**
+     * The board the buffer was last filled from.
+     */
+    private Board board;
+
+    /**
+     * The rays of the board size, or null if the board is too big for
+     * bitboards.
+     */
+    private RayMasks rays;
+
+    /**
+     * Packs a move into an int.
+     * @param from the cell the piece starts on.
+     * @param to the cell the piece ends on.
+     * @param kind RABBIT or FOX.
+     * @return the packed move.
+     */
+    public static int encode(int from, int to, int kind) {
+        return (kind << (2 * CELL_BITS)) | (to << CELL_BITS) | from;
+    }
+
+    /**
+     * Returns the cell a packed move starts from.
+     * @param move the packed move.
+     * @return the row major index of the starting cell.
+     */
+    public static int from(int move) {
+        return move & CELL_MASK;
+    }
+
+    /**
+     * Returns the cell a packed move ends on.
+     * @param move the packed move.
+     * @return the row major index of the destination cell.
+     */
+    public static int to(int move) {
+        return (move >>> CELL_BITS) & CELL_MASK;
+    }
+
+    /**
+     * Returns the kind of piece a packed move moves.
+     * @param move the packed move.
+     * @return RABBIT or FOX.
+     */
+    public static int kind(int move) {
+        return move >>> (2 * CELL_BITS);
+    }
+
+    /**
+     * Returns the number of moves in the buffer.
+     * @return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a packed move.
+     * @param index the index of the move.
+     * @return the packed move.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Removes every move from the buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the coordinate of a cell of the board the buffer was last
+     * filled from.
+     * @param cell the row major index of the cell.
+     * @return the shared coordinate of the cell.
+     */
+    public Coordinate coordinate(int cell) {
+        return coordinates[cell];
+    }
+
+    /**
+     * Adds a move to the buffer.
+     * @param from the cell the piece starts on.
+     * @param to the cell the piece ends on.
+     * @param kind RABBIT or FOX.
+     */
+    void add(int from, int to, int kind) {
+        if (size == moves.length) {
+            int[] grown = new int[moves.length * 2];
+            System.arraycopy(moves, 0, grown, 0, size);
+            moves = grown;
+        }
+
+        moves[size++] = encode(from, to, kind);
+    }
+
+    /**
+     * Empties the buffer before moves are generated for a board.
+     * @param board the board moves are about to be generated for.
+     */
+    void load(Board board) {
+        size = 0;
+        this.board = board;
+
+        if (board.numberOfRows != numberOfRows ||
+                board.numberOfColumns != numberOfColumns) {
+            numberOfRows = board.numberOfRows;
+            numberOfColumns = board.numberOfColumns;
+            coordinates = new Coordinate[numberOfRows * numberOfColumns];
+            rays = RayMasks.fits(numberOfRows, numberOfColumns) ?
+                    new RayMasks(numberOfRows, numberOfColumns) : null;
+
+            for (int row = 0; row < numberOfRows; row++) {
+                for (int column = 0; column < numberOfColumns; column++) {
+                    coordinates[row * numberOfColumns + column] =
+                            Coordinate.of(row, column);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the code of a cell of the board the buffer was last filled
+     * from.
+     * @param cell the row major index of the cell.
+     * @return the {@link CellCode} of the cell.
+     */
+    int code(int cell) {
+        return board.getCode(cell);
+    }
+
+    /**
+     * Returns the rays of the board the buffer was last filled from.
+     * @return the rays, or null if the board does not fit in a bitboard.
+     */
+    RayMasks rays() {
+        return rays;
+    }
+}
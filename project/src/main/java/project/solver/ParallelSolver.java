@@ -0,0 +1,314 @@
+package project.solver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.pcollections.PVector;
+import org.pcollections.TreePVector;
+import project.model.Board;
+import project.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solves boards with the same depth limited search as {@link Solver#solve},
+ * split across the threads of a {@link ForkJoinPool}. The first few levels of
+ * the move tree are forked as separate tasks and deeper levels are searched
+ * sequentially inside each task. All tasks share one fixed size table of
+ * visited positions, and once any task finds a solution the tasks that have
+ * not started are cancelled and the running ones stop at their next position.
+ * The same happens when a limit of the {@link SolverRequest} is reached.
+ */
+public class ParallelSolver {
+
+    /**
+     * Logger used to log helpful debug statements and errors.
+     */
+    private static Logger logger = LogManager.getLogger(ParallelSolver.class);
+
+    /**
+     * Positions closer to the root than this are expanded as separate tasks.
+     */
+    private static final int SPLIT_DEPTH = 3;
+
+    /**
+     * The move buffer of each thread. A buffer is only used while a single
+     * position is expanded, so tasks running on the same thread can share it.
+     */
+    private static final ThreadLocal<MoveBuffer> BUFFERS =
+            ThreadLocal.withInitial(MoveBuffer::new);
+
+    /**
+     * The pool that runs the search tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a solver that uses the common pool, which has a thread for
+     * every core.
+     */
+    public ParallelSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver that runs its tasks in a given pool.
+     * @param pool the pool running the search.
+     */
+    public ParallelSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Solve the board, searching independent branches of the move tree in
+     * parallel.
+     * @param board to be solved.
+     * @return a list of moves that solve the board, or null if no solution
+     * of at most {@link Solver#MAX_DEPTH} moves was found.
+     */
+    public List<Move> solve(Board board) {
+        return solve(new SolverRequest(board)).moves;
+    }
+
+    /**
+     * Solve the board of a request, searching independent branches of the
+     * move tree in parallel and stopping every task once a limit of the
+     * request is reached. The algorithm of the request is ignored, the
+     * search is always depth first.
+     * @param request the board to be solved and the limits of the search.
+     * @return the moves found, if any, and why the search ended.
+     */
+    public SolverResult solve(SolverRequest request) {
+        SearchContext context = new SearchContext(request);
+        Board board = request.getBoard();
+
+        if (board.currentGameState == GameState.SOLVED) {
+            return context.finish(new ArrayList<>());
+        }
+
+        Search search = new Search(context);
+        search.visit(board.getPositionHash(), 0);
+        context.setFrontierSize(search.frontier::get);
+
+        pool.invoke(search.new SearchTask(board, TreePVector.empty()));
+
+        PVector<Move> solution = search.solution.get();
+        SolverResult result = context.finish(
+                solution == null ? null : new ArrayList<>(solution));
+        logger.debug(result);
+
+        return result;
+    }
+
+    /**
+     * The state shared by all the tasks of a single solve.
+     */
+    private static class Search {
+
+        /**
+         * Tracks the limits of the request being solved.
+         */
+        private final SearchContext context;
+
+        /**
+         * The shallowest depth each visited position was reached at, in a
+         * table of fixed size so the search cannot run out of memory.
+         */
+        private final ConcurrentTranspositionTable visited =
+                new ConcurrentTranspositionTable();
+
+        /**
+         * The number of forked tasks of this search that have not started.
+         * The pool may be running other work, so its own count of queued
+         * tasks cannot be used.
+         */
+        private final AtomicInteger frontier = new AtomicInteger();
+
+        /**
+         * Updates the queued flag of a task.
+         */
+        private static final AtomicIntegerFieldUpdater<SearchTask> QUEUED =
+                AtomicIntegerFieldUpdater.newUpdater(SearchTask.class,
+                        "queued");
+
+        /**
+         * The first solution found by any task.
+         */
+        private final AtomicReference<PVector<Move>> solution =
+                new AtomicReference<>();
+
+        /**
+         * Creates the shared state of a search.
+         * @param context tracks the limits of the request being solved.
+         */
+        private Search(SearchContext context) {
+            this.context = context;
+        }
+
+        /**
+         * Records that a position is about to be searched at a depth.
+         * @param hash the hash of the position.
+         * @param depth the depth the position was reached at.
+         * @return true if no task has searched the position at the same or a
+         * shallower depth.
+         */
+        private boolean visit(long hash, int depth) {
+            return visited.visit(hash, depth);
+        }
+
+        /**
+         * Returns true once any task has found a solution or a limit of the
+         * request was reached.
+         * @return true if the search is finished.
+         */
+        private boolean isFinished() {
+            return solution.get() != null || context.isStopped();
+        }
+
+        /**
+         * Applies every generated move to a position and returns the new
+         * positions that still need to be searched. Records a solution if one
+         * of the moves solves the board.
+         * @param board the position being expanded.
+         * @param path the moves made to reach the position.
+         * @return the tasks for the unvisited positions one move away.
+         */
+        private List<SearchTask> expand(Board board, PVector<Move> path) {
+            List<SearchTask> children = new ArrayList<>();
+
+            // As in Solver.solve, a position more than MAX_DEPTH moves from
+            // the root is never searched, not even to see if it is solved
+            if (path.size() + 1 > Solver.MAX_DEPTH ||
+                    !context.visit(path.size())) {
+                return children;
+            }
+
+            MoveBuffer moves = BUFFERS.get();
+            Solver.generateMoves(board, moves);
+
+            for (int i = 0; i < moves.size(); i++) {
+                Board newBoard = Solver.applyMove(board, moves, moves.get(i));
+
+                PVector<Move> newPath = path.plus(
+                        Solver.toMove(board, moves, moves.get(i)));
+
+                if (newBoard.currentGameState == GameState.SOLVED) {
+                    solution.compareAndSet(null, newPath);
+                    return children;
+                }
+
+                if (visit(newBoard.getPositionHash(), newPath.size())) {
+                    children.add(new SearchTask(newBoard, newPath));
+                }
+            }
+
+            return children;
+        }
+
+        /**
+         * Searches a position and everything below it on the current thread.
+         * @param board the position being searched.
+         * @param path the moves made to reach the position.
+         */
+        private void searchSequentially(Board board, PVector<Move> path) {
+            if (isFinished() || path.size() > Solver.MAX_DEPTH) {
+                return;
+            }
+
+            for (SearchTask child : expand(board, path)) {
+                if (isFinished()) {
+                    return;
+                }
+
+                searchSequentially(child.board, child.path);
+            }
+        }
+
+        /**
+         * A task searching the tree below a single position.
+         */
+        private class SearchTask extends RecursiveAction {
+
+            /**
+             * The position searched by this task.
+             */
+            private final Board board;
+
+            /**
+             * The moves made to reach the position.
+             */
+            private final PVector<Move> path;
+
+            /**
+             * One while the task is forked and has not started or been
+             * cancelled, zero otherwise. Updated through QUEUED so that the
+             * many tasks used only to hold positions allocate nothing more.
+             */
+            volatile int queued;
+
+            /**
+             * Creates a task searching below a position.
+             * @param board the position to search.
+             * @param path the moves made to reach the position.
+             */
+            private SearchTask(Board board, PVector<Move> path) {
+                this.board = board;
+                this.path = path;
+            }
+
+            /**
+             * Forks a task for every child near the root, and searches deeper
+             * positions sequentially.
+             */
+            @Override
+            protected void compute() {
+                leaveFrontier();
+
+                if (isFinished() || path.size() > Solver.MAX_DEPTH) {
+                    return;
+                }
+
+                if (path.size() >= SPLIT_DEPTH) {
+                    searchSequentially(board, path);
+                    return;
+                }
+
+                List<SearchTask> children = expand(board, path);
+
+                for (SearchTask child : children) {
+                    child.queued = 1;
+                    frontier.incrementAndGet();
+                    child.fork();
+                }
+
+                for (int i = 0; i < children.size(); i++) {
+                    if (isFinished()) {
+                        // Siblings that have not started yet never run
+                        for (int j = i; j < children.size(); j++) {
+                            children.get(j).cancel(false);
+                            children.get(j).leaveFrontier();
+                        }
+                        return;
+                    }
+
+                    children.get(i).join();
+                }
+            }
+
+            /**
+             * Removes the task from the frontier the first time it starts or
+             * is cancelled.
+             */
+            private void leaveFrontier() {
+                if (QUEUED.compareAndSet(this, 1, 0)) {
+                    frontier.decrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package project.solver;
+
+import project.model.Board;
+
+/**
+ * The rays of a board size for bitboard move generation. The ray of a cell
+ * in a direction has a bit set for every cell from the next one in that
+ * direction up to the edge of the board, using the cell numbering of
+ * {@link Board#getObstacleBits()}. Masking a ray with a bitboard and taking
+ * its nearest set bit finds the first cell of a kind in that direction
+ * without looking at the cells one by one.
+ */
+final class RayMasks {
+
+    /**
+     * The directions, in the order of the solver's row and column steps.
+     */
+    static final int UP = 0;
+    static final int DOWN = 1;
+    static final int LEFT = 2;
+    static final int RIGHT = 3;
+
+    /**
+     * The number of rows of the board size.
+     */
+    final int numberOfRows;
+
+    /**
+     * The number of columns of the board size.
+     */
+    final int numberOfColumns;
+
+    /**
+     * The ray of every cell, indexed by direction then cell.
+     */
+    private final long[][] rays;
+
+    /**
+     * Computes the rays of every cell of a board size.
+     * @param rows the number of rows.
+     * @param columns the number of columns.
+     * @throws IllegalArgumentException if the board does not fit in a long.
+     */
+    RayMasks(int rows, int columns) {
+        if (!fits(rows, columns)) {
+            throw new IllegalArgumentException("A " + rows + "x" + columns +
+                    " board does not fit in a bitboard");
+        }
+
+        this.numberOfRows = rows;
+        this.numberOfColumns = columns;
+        this.rays = new long[4][rows * columns];
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+
+                for (int r = row - 1; r >= 0; r--) {
+                    rays[UP][cell] |= 1L << (r * columns + column);
+                }
+
+                for (int r = row + 1; r < rows; r++) {
+                    rays[DOWN][cell] |= 1L << (r * columns + column);
+                }
+
+                for (int c = column - 1; c >= 0; c--) {
+                    rays[LEFT][cell] |= 1L << (row * columns + c);
+                }
+
+                for (int c = column + 1; c < columns; c++) {
+                    rays[RIGHT][cell] |= 1L << (row * columns + c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if a board size is small enough for bitboards.
+     * @param rows the number of rows.
+     * @param columns the number of columns.
+     * @return true if the board has at most {@link Board#MAX_BITBOARD_CELLS}
+     * cells.
+     */
+    static boolean fits(int rows, int columns) {
+        return rows * columns <= Board.MAX_BITBOARD_CELLS;
+    }
+
+    /**
+     * Returns the ray of a cell.
+     * @param direction UP, DOWN, LEFT or RIGHT.
+     * @param cell the row major index of the cell.
+     * @return the cells after the cell in that direction.
+     */
+    long ray(int direction, int cell) {
+        return rays[direction][cell];
+    }
+
+    /**
+     * Returns the set cell closest to the start of a ray. Cells grow going
+     * down and right, and shrink going up and left.
+     * @param bits some of the cells of a ray, at least one.
+     * @param direction the direction of the ray.
+     * @return the index of the closest cell.
+     */
+    static int nearest(long bits, int direction) {
+        if (direction == DOWN || direction == RIGHT) {
+            return Long.numberOfTrailingZeros(bits);
+        }
+
+        return Long.SIZE - 1 - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * Returns the cells of a ray that come before a cell of it.
+     * @param ray the ray.
+     * @param cell a cell of the ray.
+     * @param direction the direction of the ray.
+     * @return the cells between the start of the ray and the cell.
+     */
+    static long before(long ray, int cell, int direction) {
+        if (direction == DOWN || direction == RIGHT) {
+            return ray & ((1L << cell) - 1);
+        }
+
+        return ray & -(2L << cell);
+    }
+}
@@ -0,0 +1,209 @@
+package project.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Tracks a running search on behalf of its {@link SolverRequest}. Searches
+ * call {@link #visit(int)} for every position they search, which counts the
+ * position, checks the limits of the request and reports progress when it
+ * is due. The context can be shared by the threads of a parallel search.
+ */
+final class SearchContext {
+
+    /**
+     * The clock, the cancellation flag and the interrupt flag are only
+     * checked once in this many positions.
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * The request being solved.
+     */
+    private final SolverRequest request;
+
+    /**
+     * The value of {@link System#nanoTime()} when the search started.
+     */
+    private final long startNanos;
+
+    /**
+     * The value of {@link System#nanoTime()} the search must stop by.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * The time between progress reports, in nanoseconds.
+     */
+    private final long progressIntervalNanos;
+
+    /**
+     * The number of positions searched.
+     */
+    private final AtomicLong nodes = new AtomicLong();
+
+    /**
+     * Why the search was stopped, or null while it may carry on.
+     */
+    private volatile SolverResult.Status stopReason;
+
+    /**
+     * The depth of the last position searched.
+     */
+    private volatile int depth;
+
+    /**
+     * When the next progress report is due.
+     */
+    private volatile long nextProgressNanos;
+
+    /**
+     * Counts the positions waiting to be searched, only asked when
+     * reporting progress.
+     */
+    private IntSupplier frontierSize = () -> 0;
+
+    /**
+     * Starts tracking a search.
+     * @param request the request being solved.
+     */
+    SearchContext(SolverRequest request) {
+        this.request = request;
+        this.startNanos = System.nanoTime();
+
+        Instant deadline = request.getDeadline();
+
+        if (deadline == null) {
+            this.deadlineNanos = Long.MAX_VALUE;
+        } else {
+            long remaining = Duration.between(Instant.now(), deadline)
+                    .toNanos();
+            this.deadlineNanos = startNanos + Math.max(0, remaining);
+        }
+
+        this.progressIntervalNanos = request.getProgressInterval().toNanos();
+        this.nextProgressNanos = startNanos + progressIntervalNanos;
+    }
+
+    /**
+     * Sets how the search counts the positions waiting to be searched.
+     * @param frontierSize returns the size of the search's frontier.
+     */
+    void setFrontierSize(IntSupplier frontierSize) {
+        this.frontierSize = frontierSize;
+    }
+
+    /**
+     * Records that a position is about to be searched.
+     * @param depth the number of moves made to reach the position.
+     * @return true if the search may search the position, false once it
+     * must stop.
+     */
+    boolean visit(int depth) {
+        long count = nodes.incrementAndGet();
+        this.depth = depth;
+
+        if (count > request.getNodeBudget()) {
+            stop(SolverResult.Status.NODE_BUDGET_EXCEEDED);
+        } else if (count % CHECK_INTERVAL == 1) {
+            checkLimits();
+        }
+
+        return stopReason == null;
+    }
+
+    /**
+     * Returns true once the search must stop.
+     * @return true if a limit of the request was reached.
+     */
+    boolean isStopped() {
+        return stopReason != null;
+    }
+
+    /**
+     * Creates the result of the search and sends a last progress report.
+     * @param moves the moves found by the search, or null if it did not find
+     *              any.
+     * @return the result of the search.
+     */
+    SolverResult finish(List<Move> moves) {
+        SolverResult.Status status;
+
+        if (moves != null) {
+            status = SolverResult.Status.SOLVED;
+        } else if (stopReason != null) {
+            status = stopReason;
+        } else {
+            status = SolverResult.Status.NO_SOLUTION;
+        }
+
+        long now = System.nanoTime();
+
+        if (request.getProgressListener() != null) {
+            request.getProgressListener().onProgress(progress(now));
+        }
+
+        return new SolverResult(status, moves, nodes.get(),
+                Duration.ofNanos(now - startNanos).toMillis());
+    }
+
+    /**
+     * Checks the cancellation flag, the interrupt flag and the clock, and
+     * reports progress if a report is due.
+     */
+    private void checkLimits() {
+        if (request.isCancelled() || Thread.currentThread().isInterrupted()) {
+            stop(SolverResult.Status.CANCELLED);
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        if (now - deadlineNanos >= 0) {
+            stop(SolverResult.Status.DEADLINE_EXCEEDED);
+            return;
+        }
+
+        if (request.getProgressListener() != null &&
+                now - nextProgressNanos >= 0) {
+            reportProgress(now);
+        }
+    }
+
+    /**
+     * Sends a progress report, unless another thread just sent one.
+     * @param now the current value of {@link System#nanoTime()}.
+     */
+    private synchronized void reportProgress(long now) {
+        if (now - nextProgressNanos < 0) {
+            return;
+        }
+
+        nextProgressNanos = now + progressIntervalNanos;
+        request.getProgressListener().onProgress(progress(now));
+    }
+
+    /**
+     * Creates a progress report.
+     * @param now the current value of {@link System#nanoTime()}.
+     * @return the state of the search.
+     */
+    private SolverProgress progress(long now) {
+        return new SolverProgress(nodes.get(), depth,
+                frontierSize.getAsInt(),
+                Duration.ofNanos(now - startNanos).toMillis());
+    }
+
+    /**
+     * Stops the search, keeping the first reason it was stopped for.
+     * @param reason why the search must stop.
+     */
+    private void stop(SolverResult.Status reason) {
+        if (stopReason == null) {
+            stopReason = reason;
+        }
+    }
+}
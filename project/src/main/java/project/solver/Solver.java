@@ -1,5 +1,6 @@
 package project.solver;
 
+import io.atlassian.fugue.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.pcollections.PVector;
@@ -8,8 +9,13 @@ import project.model.Direction;
 import project.model.GameState;
 import project.model.*;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
 
 /**
  * Solver class contains the logic for an algorithm that solves the board
@@ -28,6 +34,22 @@ public class Solver {
      */
     final static int MAX_DEPTH = 10;
 
+    /**
+     * Longest solution the iterative deepening search looks for by default.
+     */
+    final static int MAX_OPTIMAL_DEPTH = 40;
+
+    /**
+     * Returned by the iterative deepening search when a solution was found.
+     */
+    private static final int FOUND = -1;
+
+    /**
+     * Returned by the iterative deepening search when a limit of its request
+     * stopped it.
+     */
+    private static final int STOPPED = -2;
+
     /**
      * Helpful debugging tool used to log the moves given.
      * @param moves a list that contains valid moves
@@ -39,94 +61,221 @@ public class Solver {
     }
 
     /**
-     * Move a piece on the board.
+     * The four directions a piece can move in, in the order moves are
+     * generated and numbered like the directions of {@link RayMasks}.
+     */
+    private static final Direction[] DIRECTIONS = {Direction.UP,
+            Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+
+    /**
+     * Move a piece on the board. Moves generated into a buffer are always
+     * legal, so they are applied without being checked again.
      * @param board to be solved by moving all the rabbits in the holes.
-     * @param move to be applied to the board and move an animal.
-     * @return board.move calls the move method of the board to perform the a
-     * board with the applied move is then returned.
-     * move given as a parameter.
-     * @throws InvalidMoveException if the move is invalid.
-     */
-    private static Board applyMove(Board board, Move move) throws
-            InvalidMoveException {
-        try {
-            return board.move(move.initial, move.ending);
-        } catch (Exception e) {
-            logger.error("received an error when applying a move");
-            throw e;
+     * @param buffer the buffer the move was generated into.
+     * @param move the packed move to be applied to the board.
+     * @return the board with the applied move.
+     */
+    static Board applyMove(Board board, MoveBuffer buffer, int move) {
+        return board.applyUnchecked(buffer.coordinate(MoveBuffer.from(move)),
+                buffer.coordinate(MoveBuffer.to(move)));
+    }
+
+    /**
+     * Creates the move object of a packed move, used to report solutions.
+     * @param board the board the move was generated for.
+     * @param buffer the buffer the move was generated into.
+     * @param move the packed move.
+     * @return the move made by the piece.
+     */
+    static Move toMove(Board board, MoveBuffer buffer, int move) {
+        Coordinate initial = buffer.coordinate(MoveBuffer.from(move));
+        Coordinate ending = buffer.coordinate(MoveBuffer.to(move));
+        Direction direction;
+
+        if (ending.row < initial.row) {
+            direction = Direction.UP;
+        } else if (ending.row > initial.row) {
+            direction = Direction.DOWN;
+        } else if (ending.column < initial.column) {
+            direction = Direction.LEFT;
+        } else {
+            direction = Direction.RIGHT;
         }
+
+        return new Move(board.getItem(initial), direction, initial, ending);
     }
 
+    /**
+     * Counts the moves a depth first search generated but has not tried yet.
+     * @param pending the number of untried moves at each depth.
+     * @return the number of positions waiting to be searched.
+     */
+    private static int countPending(int[] pending) {
+        int count = 0;
+
+        for (int moves : pending) {
+            count += moves;
+        }
+
+        return count;
+    }
+
+    /**
+     * Creates one move buffer for every depth of a search.
+     * @param depth the deepest depth that is expanded.
+     * @return the buffers, indexed by depth.
+     */
+    private static MoveBuffer[] createBuffers(int depth) {
+        MoveBuffer[] buffers = new MoveBuffer[depth + 1];
+
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new MoveBuffer();
+        }
+
+        return buffers;
+    }
+
+    /**
+     * Solve a request with the search it asks for, stopping early if one of
+     * its limits is reached.
+     * @param request the board to be solved and the limits of the search.
+     * @return the moves found, if any, and why the search ended.
+     */
+    public static SolverResult solve(SolverRequest request) {
+        SearchContext context = new SearchContext(request);
+        Board board = request.getBoard();
+        List<Move> moves;
+
+        switch (request.getAlgorithm()) {
+            case SHORTEST:
+                moves = solveShortest(board, context);
+                break;
+            case OPTIMAL:
+                moves = solveOptimal(board, MAX_OPTIMAL_DEPTH, context);
+                break;
+            default:
+                moves = solve(board, new TranspositionTable(), context);
+                break;
+        }
+
+        SolverResult result = context.finish(moves);
+        logger.debug(result);
+
+        return result;
+    }
 
     /**
      * Solve the board using the tree algorithm.
      * @param board to be solved.
      * @return reversed, a list of moves to be executed that solve board from
-     * the root node moving down.
+     * the root node moving down, or null if no solution was found.
      */
     public static List<Move> solve (Board board) {
-        PVector<Board> boardHistory = TreePVector.empty();
+        return solve(board, new TranspositionTable());
+    }
+
+    /**
+     * Solve the board using the tree algorithm, remembering searched
+     * positions in the given transposition table.
+     * @param board to be solved.
+     * @param table used to skip positions that were already searched, its
+     *              size bounds the memory used by the search.
+     * @return reversed, a list of moves to be executed that solve board from
+     * the root node moving down, or null if no solution was found.
+     */
+    public static List<Move> solve (Board board, TranspositionTable table) {
+        return solve(board, table, new SearchContext(new SolverRequest(board)));
+    }
 
-        List<Move> solutions = solve(board, boardHistory, 0);
+    /**
+     * Solve the board using the tree algorithm, stopping early if a limit of
+     * the search's request is reached.
+     * @param board to be solved.
+     * @param table used to skip positions that were already searched.
+     * @param context tracks the limits of the search.
+     * @return reversed, a list of moves to be executed that solve board from
+     * the root node moving down, or null if no solution was found.
+     */
+    private static List<Move> solve (Board board, TranspositionTable table,
+                                     SearchContext context) {
+        table.visit(board.getPositionHash(), 0);
 
-        List<Move> reversed =  new ArrayList<>();
+        int[] pending = new int[MAX_DEPTH + 1];
+        context.setFrontierSize(() -> countPending(pending));
 
-        logger.debug("generated moves");
-        printMoves(reversed);
+        List<Move> solutions = solve(board, table,
+                createBuffers(MAX_DEPTH), pending, context, 0);
 
+        if (solutions == null) {
+            return null;
+        }
+
+        List<Move> reversed =  new ArrayList<>();
 
         for (int i = solutions.size() - 1; i >= 0; i--) {
             reversed.add(solutions.get(i));
         }
 
+        logger.debug("generated moves");
+        printMoves(reversed);
+
         return reversed;
     }
 
     /**
      * applies algorithm to solve the board using a brute force tree solution.
      * @param board to be solved.
-     * @param boardHistory previous board states when trying to solve the
-     *                     board to avoid duplicated moves.
+     * @param table positions that were already searched and the depth they
+     *              were searched at, used to avoid duplicated moves.
+     * @param buffers the move buffer used at each depth.
+     * @param pending the number of untried moves at each depth.
+     * @param context tracks the limits of the search.
      * @param depth of the branch so far to avoid going past the max depth.
      * @return list moves to be executed to solve the board in reverse order
      * (starting from leaf node).
      */
     private static PVector<Move> solve (Board board,
-                           PVector<Board> boardHistory,
+                           TranspositionTable table,
+                           MoveBuffer[] buffers,
+                           int[] pending,
+                           SearchContext context,
                            int depth) {
 
-        PVector<Board> history = boardHistory;
-
-        if (depth > MAX_DEPTH) {
+        if (depth > MAX_DEPTH || !context.visit(depth)) {
             return null;
         }
 
         if (board.currentGameState == GameState.IN_PROGRESS) {
             // board is the root of the tree
 
-            List<Move> moves = generateMoves(board);
+            MoveBuffer moves = buffers[depth];
+            generateMoves(board, moves);
 
-            for (Move move: moves) {
-                try {
-                    Board newBoard = applyMove(board, move);
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
 
-                   if (!history.contains(newBoard)) {
+                Board newBoard = applyMove(board, moves, move);
 
-                        history = history.plus(newBoard);
+                // Skip positions already searched with as many moves left
+                if (table.visit(newBoard.getPositionHash(), depth + 1)) {
+                    pending[depth] = moves.size() - i - 1;
 
-                       PVector<Move> solution = solve(newBoard, history,
-                               depth + 1);
+                    PVector<Move> solution = solve(newBoard, table,
+                            buffers, pending, context, depth + 1);
 
-                        if(solution != null) {
-                            solution = solution.plus(move);
-                            return solution;
-                        }
-                   }
+                    if(solution != null) {
+                        solution = solution.plus(toMove(board, moves,
+                                move));
+                        return solution;
+                    }
 
-                } catch (Exception e) {
-                    logger.error(e);
+                    if (context.isStopped()) {
+                        return null;
+                    }
                 }
             }
+
+            pending[depth] = 0;
         }
 
         else {
@@ -141,6 +290,544 @@ public class Solver {
         return null;
     }
 
+    /**
+     * Solve the board using a breadth first search over board states.
+     * Every reachable state is expanded at most once, and since states are
+     * expanded in order of their distance from the root the first solved
+     * state found is reached by the fewest possible moves. Visited states are
+     * stored packed to keep the memory used per state small.
+     * @param board to be solved.
+     * @return the shortest list of moves that solve the board from the
+     * root, or null if the board cannot be solved.
+     */
+    public static List<Move> solveShortest(Board board) {
+        return solveShortest(board, new SearchContext(new SolverRequest(board)));
+    }
+
+    /**
+     * Solve the board using a breadth first search, stopping early if a limit
+     * of the search's request is reached.
+     * @param board to be solved.
+     * @param context tracks the limits of the search.
+     * @return the shortest list of moves that solve the board from the
+     * root, or null if the board cannot be solved.
+     */
+    private static List<Move> solveShortest(Board board,
+                                            SearchContext context) {
+        if (board.currentGameState == GameState.SOLVED) {
+            return new ArrayList<>();
+        }
+
+        // Each visited state maps to the state and move it was reached from
+        Map<PackedBoard, Pair<PackedBoard, Move>> parents = new HashMap<>();
+        Queue<Board> frontier = new ArrayDeque<>();
+
+        MoveBuffer moves = new MoveBuffer();
+
+        // The states left at the current depth and queued for the next one
+        int depth = 0;
+        int remainingAtDepth = 1;
+        int queuedForNextDepth = 0;
+
+        parents.put(new PackedBoard(board), null);
+        frontier.add(board);
+        context.setFrontierSize(frontier::size);
+
+        while (!frontier.isEmpty()) {
+            Board current = frontier.poll();
+
+            if (!context.visit(depth)) {
+                return null;
+            }
+
+            PackedBoard packedCurrent = new PackedBoard(current);
+
+            generateMoves(current, moves);
+
+            for (int i = 0; i < moves.size(); i++) {
+                Board newBoard = applyMove(current, moves, moves.get(i));
+
+                PackedBoard packedBoard = new PackedBoard(newBoard);
+
+                if (parents.containsKey(packedBoard)) {
+                    continue;
+                }
+
+                parents.put(packedBoard, Pair.pair(packedCurrent,
+                        toMove(current, moves, moves.get(i))));
+
+                if (newBoard.currentGameState == GameState.SOLVED) {
+                    logger.debug("solved board in " + parents.size() +
+                            " visited states");
+                    return buildPath(parents, packedBoard);
+                }
+
+                frontier.add(newBoard);
+                queuedForNextDepth++;
+            }
+
+            if (--remainingAtDepth == 0) {
+                depth++;
+                remainingAtDepth = queuedForNextDepth;
+                queuedForNextDepth = 0;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Walks back from a solved state to the root to recover the moves taken.
+     * @param parents the state each visited state was reached from.
+     * @param solved the solved state found by the search.
+     * @return the moves that lead from the root to the solved state.
+     */
+    private static List<Move> buildPath(
+            Map<PackedBoard, Pair<PackedBoard, Move>> parents,
+            PackedBoard solved) {
+        List<Move> path = new ArrayList<>();
+        Pair<PackedBoard, Move> parent = parents.get(solved);
+
+        while (parent != null) {
+            path.add(parent.right());
+            parent = parents.get(parent.left());
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Solve the board using iterative deepening A*. Each iteration is a depth
+     * first search that cuts off branches whose moves so far plus
+     * {@link #estimateRemainingMoves(Board)} exceed a bound, and the bound
+     * grows to the smallest cut off value until a solution is found. Since the
+     * estimate never overestimates, the solution found is the shortest one,
+     * and only the current path is kept in memory.
+     * @param board to be solved.
+     * @return the shortest list of moves that solve the board, or null if no
+     * solution of at most {@link #MAX_OPTIMAL_DEPTH} moves exists.
+     */
+    public static List<Move> solveOptimal(Board board) {
+        return solveOptimal(board, MAX_OPTIMAL_DEPTH);
+    }
+
+    /**
+     * Solve the board using iterative deepening A*, looking for solutions of
+     * at most a given length.
+     * @param board to be solved.
+     * @param maxDepth the longest solution to look for.
+     * @return the shortest list of moves that solve the board, or null if no
+     * solution of at most maxDepth moves exists.
+     */
+    public static List<Move> solveOptimal(Board board, int maxDepth) {
+        return solveOptimal(board, maxDepth,
+                new SearchContext(new SolverRequest(board)));
+    }
+
+    /**
+     * Solve the board using iterative deepening A*, stopping early if a limit
+     * of the search's request is reached.
+     * @param board to be solved.
+     * @param maxDepth the longest solution to look for.
+     * @param context tracks the limits of the search.
+     * @return the shortest list of moves that solve the board, or null if no
+     * solution of at most maxDepth moves was found.
+     */
+    private static List<Move> solveOptimal(Board board, int maxDepth,
+                                           SearchContext context) {
+        List<Move> path = new ArrayList<>();
+        long[] pathHashes = new long[maxDepth + 1];
+        MoveBuffer[] buffers = createBuffers(maxDepth);
+        int[] pending = new int[maxDepth + 1];
+        int bound = estimateRemainingMoves(board);
+
+        pathHashes[0] = board.getPositionHash();
+        context.setFrontierSize(() -> countPending(pending));
+
+        while (bound <= maxDepth) {
+            logger.debug("searching with bound " + bound);
+            int next = search(board, 0, bound, path, pathHashes, buffers,
+                    pending, context);
+
+            if (next == FOUND) {
+                return path;
+            }
+
+            // Nothing was cut off, every reachable position was searched
+            if (next == Integer.MAX_VALUE || next == STOPPED) {
+                return null;
+            }
+
+            bound = next;
+        }
+
+        return null;
+    }
+
+    /**
+     * A single bounded depth first iteration of the iterative deepening search.
+     * @param board the position being searched.
+     * @param depth the number of moves made to reach the position.
+     * @param bound the largest estimated solution length to search.
+     * @param path the moves made to reach the position, holds the solution
+     *             when one is found.
+     * @param pathHashes the hashes of the positions on the current path.
+     * @param buffers the move buffer used at each depth.
+     * @param pending the number of untried moves at each depth.
+     * @param context tracks the limits of the search.
+     * @return FOUND if a solution was found, STOPPED if a limit of the
+     * request was reached, otherwise the smallest estimate that was over the
+     * bound.
+     */
+    private static int search(Board board, int depth, int bound,
+                              List<Move> path, long[] pathHashes,
+                              MoveBuffer[] buffers, int[] pending,
+                              SearchContext context) {
+        if (board.currentGameState == GameState.SOLVED) {
+            return FOUND;
+        }
+
+        if (!context.visit(depth)) {
+            return STOPPED;
+        }
+
+        int estimate = depth + estimateRemainingMoves(board);
+
+        if (estimate > bound) {
+            return estimate;
+        }
+
+        int minimum = Integer.MAX_VALUE;
+
+        MoveBuffer moves = buffers[depth];
+        generateMoves(board, moves);
+
+        for (int i = 0; i < moves.size(); i++) {
+            Board newBoard = applyMove(board, moves, moves.get(i));
+
+            long hash = newBoard.getPositionHash();
+
+            if (isOnPath(hash, pathHashes, depth)) {
+                continue;
+            }
+
+            pathHashes[depth + 1] = hash;
+            path.add(toMove(board, moves, moves.get(i)));
+            pending[depth] = moves.size() - i - 1;
+
+            int result = search(newBoard, depth + 1, bound, path, pathHashes,
+                    buffers, pending, context);
+
+            if (result == FOUND || result == STOPPED) {
+                return result;
+            }
+
+            path.remove(path.size() - 1);
+            minimum = Math.min(minimum, result);
+        }
+
+        pending[depth] = 0;
+        return minimum;
+    }
+
+    /**
+     * Checks if a position already appears on the current path.
+     * @param hash the hash of the position.
+     * @param pathHashes the hashes of the positions on the current path.
+     * @param depth the depth of the last position on the path.
+     * @return true if the position would repeat one on the path.
+     */
+    private static boolean isOnPath(long hash, long[] pathHashes, int depth) {
+        for (int i = 0; i <= depth; i++) {
+            if (pathHashes[i] == hash) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A lower bound on the number of moves needed to solve the board.
+     * Every move moves at most one rabbit, so each rabbit that is not in a
+     * hole needs at least one move of its own. Rabbits only jump along rows
+     * and columns, so a rabbit with no hole in its row or column needs at
+     * least two.
+     * @param board to be estimated.
+     * @return a number of moves that is never more than the real number of
+     * moves needed.
+     */
+    public static int estimateRemainingMoves(Board board) {
+        if (board.getFreeRabbitCount() == 0) {
+            return 0;
+        }
+
+        // Only the rabbits are visited, and whether a cell is in line with a
+        // hole is kept by the level's static layer, so nothing is allocated
+        StaticLayer layer = board.getStaticLayer();
+        PieceList rabbits = board.getRabbitCells();
+        PieceList contained = board.getContainedRabbitCells();
+        int estimate = 0;
+
+        for (int i = 0; i < rabbits.size(); i++) {
+            estimate += layer.isInLineWithHole(rabbits.get(i)) ? 1 : 2;
+        }
+
+        // Rabbits in holes are already safe, rabbits on elevated cells are not
+        for (int i = 0; i < contained.size(); i++) {
+            int cell = contained.get(i);
+
+            if (layer.isElevated(cell)) {
+                estimate += layer.isInLineWithHole(cell) ? 1 : 2;
+            }
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Generate the legal moves for items on a particular board into a
+     * reusable buffer, without allocating any objects. Unlike
+     * {@link #generateMoves(Board)} only moves that can really be made are
+     * generated, so foxes never slide onto holes or elevated cells. Only the
+     * cells in the board's piece lists are visited, not every cell, and on
+     * boards that fit in a long the jumps and slides of each piece are found
+     * with bitboards instead of stepping along the board.
+     * @param board to have the legal moves generated on.
+     * @param buffer emptied and then filled with the legal moves.
+     */
+    public static void generateMoves(Board board, MoveBuffer buffer) {
+        buffer.load(board);
+
+        PieceList rabbits = board.getRabbitCells();
+        PieceList contained = board.getContainedRabbitCells();
+        PieceList foxes = board.getFoxHeadCells();
+        RayMasks rays = buffer.rays();
+        int columns = board.numberOfColumns;
+        int rabbit = 0;
+        int containedRabbit = 0;
+        int fox = 0;
+
+        // Visit the pieces in row major order, the order a scan of every
+        // cell would find them in, so searches try moves in the same order
+        while (rabbit < rabbits.size() || containedRabbit < contained.size() ||
+                fox < foxes.size()) {
+            int rabbitCell = rabbit < rabbits.size() ?
+                    rabbits.get(rabbit) : Integer.MAX_VALUE;
+            int containedCell = containedRabbit < contained.size() ?
+                    contained.get(containedRabbit) : Integer.MAX_VALUE;
+            int foxCell = fox < foxes.size() ?
+                    foxes.get(fox) : Integer.MAX_VALUE;
+            int cell;
+
+            if (rabbitCell < containedCell && rabbitCell < foxCell) {
+                cell = rabbitCell;
+                rabbit++;
+            } else if (containedCell < foxCell) {
+                cell = containedCell;
+                containedRabbit++;
+            } else {
+                cell = foxCell;
+                fox++;
+            }
+
+            int code = buffer.code(cell);
+
+            if (rays != null && CellCode.isFoxHead(code)) {
+                generateSlides(board, buffer, rays, cell, code);
+            } else if (rays != null) {
+                generateJumps(board, buffer, rays, cell);
+            } else if (CellCode.isFoxHead(code)) {
+                generateSlides(board, buffer, cell, code);
+            } else {
+                generateJumps(board, buffer, cell);
+            }
+        }
+    }
+
+    /**
+     * Generate the jumps of a rabbit into a buffer using bitboards. The
+     * rabbit lands on the first cell of each ray that is not an obstacle,
+     * as long as it jumped over at least one.
+     * @param board the board being searched.
+     * @param buffer the buffer being filled.
+     * @param rays the rays of the board size.
+     * @param from the cell of the rabbit.
+     */
+    private static void generateJumps(Board board, MoveBuffer buffer,
+                                      RayMasks rays, int from) {
+        long obstacles = board.getObstacleBits();
+
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            long ray = rays.ray(direction, from);
+            long landings = ray & ~obstacles;
+
+            if (landings == 0) {
+                continue;
+            }
+
+            int to = RayMasks.nearest(landings, direction);
+
+            if (RayMasks.before(ray, to, direction) != 0) {
+                buffer.add(from, to, MoveBuffer.RABBIT);
+            }
+        }
+    }
+
+    /**
+     * Generate the slides of a fox into a buffer using bitboards, led by
+     * the head and then by the tail like
+     * {@link #generateSlides(Board, MoveBuffer, int, int)}.
+     * @param board the board being searched.
+     * @param buffer the buffer being filled.
+     * @param rays the rays of the board size.
+     * @param head the cell of the fox's head.
+     * @param code the cell code of the fox's head.
+     */
+    private static void generateSlides(Board board, MoveBuffer buffer,
+                                       RayMasks rays, int head, int code) {
+        int tailDirection;
+        int tail;
+
+        if (code == CellCode.FOX_HEAD_TAIL_UP) {
+            tailDirection = RayMasks.UP;
+            tail = head - rays.numberOfColumns;
+        } else if (code == CellCode.FOX_HEAD_TAIL_DOWN) {
+            tailDirection = RayMasks.DOWN;
+            tail = head + rays.numberOfColumns;
+        } else if (code == CellCode.FOX_HEAD_TAIL_LEFT) {
+            tailDirection = RayMasks.LEFT;
+            tail = head - 1;
+        } else {
+            tailDirection = RayMasks.RIGHT;
+            tail = head + 1;
+        }
+
+        long blockers = board.getObstacleBits() | board.getContainerBits();
+
+        // Opposite directions only differ in their lowest bit
+        generateSlide(buffer, rays.ray(tailDirection ^ 1, head), head,
+                tailDirection ^ 1, blockers);
+        generateSlide(buffer, rays.ray(tailDirection, tail), tail,
+                tailDirection, blockers);
+    }
+
+    /**
+     * Generate the slides of a fox in one direction using bitboards. The
+     * fox can reach every cell of the ray before the first obstacle, hole
+     * or elevated cell.
+     * @param buffer the buffer being filled.
+     * @param ray the ray of the end of the fox leading the slide.
+     * @param from the cell of the end of the fox leading the slide.
+     * @param direction the direction of the slide.
+     * @param blockers the cells foxes cannot slide onto.
+     */
+    private static void generateSlide(MoveBuffer buffer, long ray, int from,
+                                      int direction, long blockers) {
+        long reachable = ray;
+
+        if ((ray & blockers) != 0) {
+            reachable = RayMasks.before(ray,
+                    RayMasks.nearest(ray & blockers, direction), direction);
+        }
+
+        // Closest cell first, the same order as stepping along the ray
+        while (reachable != 0) {
+            int to = RayMasks.nearest(reachable, direction);
+            buffer.add(from, to, MoveBuffer.FOX);
+            reachable &= ~(1L << to);
+        }
+    }
+
+    /**
+     * Generate the jumps of a rabbit into a buffer. A rabbit must jump over
+     * at least one obstacle and lands on the first cell that is not one.
+     * @param board the board being searched.
+     * @param buffer the buffer holding the board's cell codes.
+     * @param from the cell of the rabbit.
+     */
+    private static void generateJumps(Board board, MoveBuffer buffer,
+                                      int from) {
+        StaticLayer layer = board.getStaticLayer();
+
+        for (Direction direction : DIRECTIONS) {
+            int next = layer.getNeighbour(from, direction);
+            boolean jumpedObstacle = false;
+
+            while (next != -1) {
+                if (!CellCode.isObstacle(buffer.code(next))) {
+                    if (jumpedObstacle) {
+                        buffer.add(from, next, MoveBuffer.RABBIT);
+                    }
+                    break;
+                }
+
+                jumpedObstacle = true;
+                next = layer.getNeighbour(next, direction);
+            }
+        }
+    }
+
+    /**
+     * Generate the slides of a fox into a buffer. Slides away from the tail
+     * start at the head and slides away from the head start at the tail, and
+     * the fox can slide until the cell in front of it is an obstacle, a hole
+     * or an elevated cell.
+     * @param board the board being searched.
+     * @param buffer the buffer holding the board's cell codes.
+     * @param head the cell of the fox's head.
+     * @param code the cell code of the fox's head.
+     */
+    private static void generateSlides(Board board, MoveBuffer buffer,
+                                       int head, int code) {
+        Direction tailDirection;
+        Direction headDirection;
+
+        if (code == CellCode.FOX_HEAD_TAIL_UP) {
+            tailDirection = Direction.UP;
+            headDirection = Direction.DOWN;
+        } else if (code == CellCode.FOX_HEAD_TAIL_DOWN) {
+            tailDirection = Direction.DOWN;
+            headDirection = Direction.UP;
+        } else if (code == CellCode.FOX_HEAD_TAIL_LEFT) {
+            tailDirection = Direction.LEFT;
+            headDirection = Direction.RIGHT;
+        } else {
+            tailDirection = Direction.RIGHT;
+            headDirection = Direction.LEFT;
+        }
+
+        // Slide led by the head, then slide led by the tail
+        generateSlide(board, buffer, head, headDirection);
+        generateSlide(board, buffer,
+                board.getStaticLayer().getNeighbour(head, tailDirection),
+                tailDirection);
+    }
+
+    /**
+     * Generate the slides of a fox in one direction.
+     * @param board the board being searched.
+     * @param buffer the buffer holding the board's cell codes.
+     * @param from the cell of the end of the fox leading the slide.
+     * @param direction the direction of the slide.
+     */
+    private static void generateSlide(Board board, MoveBuffer buffer,
+                                      int from, Direction direction) {
+        StaticLayer layer = board.getStaticLayer();
+        int next = layer.getNeighbour(from, direction);
+
+        while (next != -1) {
+            if (CellCode.isObstacle(buffer.code(next)) ||
+                    layer.isContainer(next)) {
+                break;
+            }
+
+            buffer.add(from, next, MoveBuffer.FOX);
+            next = layer.getNeighbour(next, direction);
+        }
+    }
+
     /**
      * Generate the legal moves for items on a particular board.
      * @param board to have the legal moves generated on.
@@ -152,9 +839,9 @@ public class Solver {
 
 
         for (int row = 0; row < board.numberOfRows; row++) {
-            for (int column = 0; column < board.numberOfRows; column++) {
+            for (int column = 0; column < board.numberOfColumns; column++) {
 
-                Coordinate coordinate = new Coordinate(row, column);
+                Coordinate coordinate = Coordinate.of(row, column);
                 BoardItem item = board.getItem(coordinate);
 
                 if (item instanceof Rabbit) {
@@ -204,7 +891,7 @@ public class Solver {
         logger.trace("generate moves");
         List<Move> legalMoves = new ArrayList<>();
         Fox item = (Fox) board.getItem(coordinate);
-        Coordinate destination = new Coordinate(coordinate.row, coordinate.column);
+        Coordinate destination = Coordinate.of(coordinate.row, coordinate.column);
 
         if (item.orientation  == Orientation.HORIZONTAL) {
             // .equals??
@@ -212,7 +899,7 @@ public class Solver {
 
             //check slide left
             for (nextColumn = coordinate.column - 1; nextColumn >= 0; nextColumn--) {
-                destination = new Coordinate(coordinate.row, nextColumn);
+                destination = Coordinate.of(coordinate.row, nextColumn);
 
                 // If we don't hit an obstacle
                 if (!board.getItem(destination).isObstacle()) {
@@ -226,7 +913,7 @@ public class Solver {
 
             //check slide right
             for (nextColumn = coordinate.column + 1; nextColumn < board.numberOfColumns; nextColumn++) {
-                destination = new Coordinate(coordinate.row, nextColumn);
+                destination = Coordinate.of(coordinate.row, nextColumn);
 
                 // If we don't hit an obstacle
                 if (!board.getItem(destination).isObstacle()) {
@@ -241,7 +928,7 @@ public class Solver {
             int nextRow;
             //check slide up
             for (nextRow = coordinate.row - 1; nextRow >= 0; nextRow--) {
-                destination = new Coordinate(nextRow, coordinate.column);
+                destination = Coordinate.of(nextRow, coordinate.column);
 
                 if (!board.getItem(destination).isObstacle()) {
                     Move move = new Move(item, Direction.UP, coordinate, destination);
@@ -254,7 +941,7 @@ public class Solver {
 
             //check slide down
             for (nextRow = coordinate.row + 1; nextRow < board.numberOfRows; nextRow++) {
-                destination = new Coordinate(nextRow, coordinate.column);
+                destination = Coordinate.of(nextRow, coordinate.column);
 
                 if (!board.getItem(destination).isObstacle()) { //can't slide
                     // into obstacle
@@ -310,12 +997,12 @@ public class Solver {
         Coordinate nextItem;
 
         //check up jump
-        nextItem = new Coordinate(coordinate.row - 1, coordinate.column);
+        nextItem = Coordinate.of(coordinate.row - 1, coordinate.column);
 
         if (isCoordinateInBoard(nextItem, board)) {
             if (board.getItem(nextItem).isObstacle()) { //rabbits must jump over obstacle to move
                 for (int row = coordinate.row - 2; row >= 0; row--) {
-                    nextItem = new Coordinate(row, nextItem.column);
+                    nextItem = Coordinate.of(row, nextItem.column);
 
                     if (!isCoordinateInBoard(nextItem, board)) {
                         break;
@@ -331,12 +1018,12 @@ public class Solver {
         }
 
         //check down jump
-        nextItem = new Coordinate(coordinate.row + 1, coordinate.column);
+        nextItem = Coordinate.of(coordinate.row + 1, coordinate.column);
 
         if (isCoordinateInBoard(nextItem, board)) {
             if (board.getItem(nextItem).isObstacle()) { //rabbits must jump over obstacle to move
                 for (int row = coordinate.row + 2; row < board.numberOfRows; row++) {
-                    nextItem = new Coordinate(row, nextItem.column);
+                    nextItem = Coordinate.of(row, nextItem.column);
 
                     if (!isCoordinateInBoard(nextItem, board)) {
                         break;
@@ -352,13 +1039,13 @@ public class Solver {
         }
 
         //check left jump
-        nextItem = new Coordinate(coordinate.row, coordinate.column - 1);
+        nextItem = Coordinate.of(coordinate.row, coordinate.column - 1);
 
         if (isCoordinateInBoard(nextItem, board)) {
             if (board.getItem(nextItem).isObstacle()) {
                 //rabbits must jump over obstacle to move
                 for (int column = coordinate.column - 2; column >= 0; column--) {
-                    nextItem = new Coordinate(nextItem.row, column);
+                    nextItem = Coordinate.of(nextItem.row, column);
 
                     if (!isCoordinateInBoard(nextItem, board)) {
                         break;
@@ -374,13 +1061,13 @@ public class Solver {
         }
 
         //check right jump
-        nextItem = new Coordinate(coordinate.row, coordinate.column + 1);
+        nextItem = Coordinate.of(coordinate.row, coordinate.column + 1);
 
         if (isCoordinateInBoard(nextItem, board)) {
             if (board.getItem(nextItem).isObstacle()) {
                 //rabbits must jump over obstacle to move
                 for (int column = coordinate.column + 2; column < board.numberOfColumns; column++) {
-                    nextItem = new Coordinate(nextItem.row, column);
+                    nextItem = Coordinate.of(nextItem.row, column);
 
                     if (!isCoordinateInBoard(nextItem, board)) {
                         break;
@@ -0,0 +1,61 @@
+package project.solver;
+
+/**
+ * A snapshot of the state of a running solve, sent to a
+ * {@link SolverProgressListener}.
+ */
+public class SolverProgress {
+
+    /**
+     * The number of positions searched so far.
+     */
+    public final long nodes;
+
+    /**
+     * The average number of positions searched per second.
+     */
+    public final double nodesPerSecond;
+
+    /**
+     * The depth of the last position searched.
+     */
+    public final int depth;
+
+    /**
+     * The number of positions waiting to be searched.
+     */
+    public final int frontierSize;
+
+    /**
+     * The time since the search started, in milliseconds.
+     */
+    public final long elapsedMillis;
+
+    /**
+     * Constructor used to create a progress report.
+     * @param nodes the number of positions searched so far.
+     * @param depth the depth of the last position searched.
+     * @param frontierSize the number of positions waiting to be searched.
+     * @param elapsedMillis the time since the search started.
+     */
+    public SolverProgress(long nodes, int depth, int frontierSize,
+                          long elapsedMillis) {
+        this.nodes = nodes;
+        this.depth = depth;
+        this.frontierSize = frontierSize;
+        this.elapsedMillis = elapsedMillis;
+        this.nodesPerSecond = elapsedMillis == 0 ? 0 :
+                nodes * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * toString method returns the progress in a string format.
+     * @return the string representation of the progress.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d nodes (%.0f/s) depth %d frontier %d " +
+                "after %dms", nodes, nodesPerSecond, depth, frontierSize,
+                elapsedMillis);
+    }
+}
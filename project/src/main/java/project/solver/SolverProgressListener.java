@@ -0,0 +1,13 @@
+package project.solver;
+
+/**
+ * Interface for objects that follow the progress of a running solve.
+ */
+public interface SolverProgressListener {
+    /**
+     * Method that handles a progress report. Reports are sent from the
+     * thread running the search, so the method should return quickly.
+     * @param progress The state of the search when the report was made
+     */
+    void onProgress(SolverProgress progress);
+}
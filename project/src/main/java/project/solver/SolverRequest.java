@@ -0,0 +1,230 @@
+package project.solver;
+
+import project.model.Board;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Describes a single solve: the board, the search used and the limits the
+ * search must stay within. A search stops early once it has searched more
+ * positions than its node budget, once its deadline passes, once
+ * {@link #cancel()} is called or once the thread running it is interrupted,
+ * and the reason it stopped is reported in its {@link SolverResult}.
+ * A listener can be given to receive the progress of the search while it
+ * runs.
+ */
+public class SolverRequest {
+
+    /**
+     * The searches a request can be solved with.
+     */
+    public enum Algorithm {
+        /**
+         * Depth first search returning the first solution found, see
+         * {@link Solver#solve(Board)}.
+         */
+        DEPTH_FIRST,
+
+        /**
+         * Breadth first search returning the shortest solution, see
+         * {@link Solver#solveShortest(Board)}.
+         */
+        SHORTEST,
+
+        /**
+         * Iterative deepening A* returning the shortest solution, see
+         * {@link Solver#solveOptimal(Board)}.
+         */
+        OPTIMAL
+    }
+
+    /**
+     * Used as the node budget when the number of positions is not limited.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * How often progress is reported when no interval is given.
+     */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL =
+            Duration.ofSeconds(1);
+
+    /**
+     * The board to be solved.
+     */
+    private final Board board;
+
+    /**
+     * The search used to solve the board.
+     */
+    private Algorithm algorithm = Algorithm.DEPTH_FIRST;
+
+    /**
+     * The most positions the search may search.
+     */
+    private long nodeBudget = UNLIMITED;
+
+    /**
+     * The time the search must stop by, or null if it has no deadline.
+     */
+    private Instant deadline;
+
+    /**
+     * Receives the progress of the search, or null if nobody is listening.
+     */
+    private SolverProgressListener listener;
+
+    /**
+     * How often progress is reported to the listener.
+     */
+    private Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    /**
+     * Set once the request has been cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a request to solve a board with a depth first search and no
+     * limits.
+     * @param board the board to be solved.
+     */
+    public SolverRequest(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Sets the search used to solve the board. Ignored by the
+     * {@link ParallelSolver}, which always searches depth first.
+     * @param algorithm the search to use.
+     * @return this request.
+     */
+    public SolverRequest withAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+        return this;
+    }
+
+    /**
+     * Limits the number of positions the search may search.
+     * @param nodeBudget the most positions to search.
+     * @return this request.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public SolverRequest withNodeBudget(long nodeBudget) {
+        if (nodeBudget < 0) {
+            throw new IllegalArgumentException("Node budget cannot be " +
+                    "negative: " + nodeBudget);
+        }
+
+        this.nodeBudget = nodeBudget;
+        return this;
+    }
+
+    /**
+     * Sets the time the search must stop by.
+     * @param deadline the wall clock time to stop at.
+     * @return this request.
+     */
+    public SolverRequest withDeadline(Instant deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Sets the deadline to a given time from now.
+     * @param timeout how long the search may run for.
+     * @return this request.
+     */
+    public SolverRequest withTimeout(Duration timeout) {
+        return withDeadline(Instant.now().plus(timeout));
+    }
+
+    /**
+     * Sets the listener that receives the progress of the search once every
+     * {@link #DEFAULT_PROGRESS_INTERVAL}.
+     * @param listener the listener to report to.
+     * @return this request.
+     */
+    public SolverRequest withProgressListener(
+            SolverProgressListener listener) {
+        return withProgressListener(listener, DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    /**
+     * Sets the listener that receives the progress of the search.
+     * @param listener the listener to report to.
+     * @param interval how often progress is reported.
+     * @return this request.
+     */
+    public SolverRequest withProgressListener(SolverProgressListener listener,
+                                              Duration interval) {
+        this.listener = listener;
+        this.progressInterval = interval;
+        return this;
+    }
+
+    /**
+     * Asks the search to stop. The search stops at the next position it
+     * checks its limits at, and can be cancelled from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns true once the request has been cancelled.
+     * @return true if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns the board to be solved.
+     * @return the board.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the search used to solve the board.
+     * @return the algorithm.
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the most positions the search may search.
+     * @return the node budget, {@link #UNLIMITED} if there is none.
+     */
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    /**
+     * Returns the time the search must stop by.
+     * @return the deadline, or null if there is none.
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Returns the listener that receives the progress of the search.
+     * @return the listener, or null if there is none.
+     */
+    public SolverProgressListener getProgressListener() {
+        return listener;
+    }
+
+    /**
+     * Returns how often progress is reported to the listener.
+     * @return the interval between reports.
+     */
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+}
@@ -0,0 +1,99 @@
+package project.solver;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link SolverRequest}: the moves found, if any, why the
+ * search ended and how much work it did.
+ */
+public class SolverResult {
+
+    /**
+     * Why a search ended.
+     */
+    public enum Status {
+        /**
+         * A solution was found.
+         */
+        SOLVED,
+
+        /**
+         * The whole search space was searched without finding a solution.
+         */
+        NO_SOLUTION,
+
+        /**
+         * The search searched as many positions as its node budget allowed.
+         */
+        NODE_BUDGET_EXCEEDED,
+
+        /**
+         * The deadline of the search passed.
+         */
+        DEADLINE_EXCEEDED,
+
+        /**
+         * The request was cancelled or its thread was interrupted.
+         */
+        CANCELLED
+    }
+
+    /**
+     * Why the search ended.
+     */
+    public final Status status;
+
+    /**
+     * The moves that solve the board, or null if none were found.
+     */
+    public final List<Move> moves;
+
+    /**
+     * The number of positions searched.
+     */
+    public final long nodes;
+
+    /**
+     * The time the search ran for, in milliseconds.
+     */
+    public final long elapsedMillis;
+
+    /**
+     * Constructor used to create the result of a search.
+     * @param status why the search ended.
+     * @param moves the moves that solve the board, or null.
+     * @param nodes the number of positions searched.
+     * @param elapsedMillis the time the search ran for.
+     */
+    public SolverResult(Status status, List<Move> moves, long nodes,
+                        long elapsedMillis) {
+        this.status = status;
+        this.moves = moves;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns true if a solution was found.
+     * @return true if the status is SOLVED.
+     */
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * toString method returns the result in a string format.
+     * @return the string representation of the result.
+     */
+    @Override
+    public String toString() {
+        String str = status + " after " + nodes + " nodes in " +
+                elapsedMillis + "ms";
+
+        if (moves != null) {
+            str += " with " + moves.size() + " moves";
+        }
+
+        return str;
+    }
+}
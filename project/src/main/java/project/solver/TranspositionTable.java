@@ -0,0 +1,200 @@
+package project.solver;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size hash table of searched positions, keyed by their Zobrist hash.
+ * For every position it remembers the shallowest depth it was searched at, so
+ * a depth limited search can skip positions it has already searched with at
+ * least as many moves remaining.
+ *
+ * The table never grows past the memory it is given. Entries are grouped in
+ * small buckets and when a bucket is full the entry searched at the deepest
+ * depth is evicted, since it saves the least work when found again.
+ * Only the 64 bit hash of a position is stored, so two positions with the
+ * same hash are treated as the same position.
+ */
+public class TranspositionTable {
+
+    /**
+     * The memory used when no limit is given, 16MB.
+     */
+    public static final long DEFAULT_MEMORY_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * The number of entries that share a bucket.
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    /**
+     * The number of bytes used by a single entry.
+     */
+    private static final int ENTRY_BYTES = Long.BYTES + 1;
+
+    /**
+     * The deepest depth that can be stored.
+     */
+    private static final int MAX_STORED_DEPTH = Byte.MAX_VALUE - 1;
+
+    /**
+     * The hashes of the stored positions.
+     */
+    private final long[] hashes;
+
+    /**
+     * The depth each position was searched at plus one, zero marks an empty
+     * entry.
+     */
+    private final byte[] depths;
+
+    /**
+     * Mask used to find the bucket of a hash.
+     */
+    private final int bucketMask;
+
+    /**
+     * The number of entries in use.
+     */
+    private int size;
+
+    /**
+     * The number of entries that have been evicted.
+     */
+    private long evictions;
+
+    /**
+     * Creates a table using the default amount of memory.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_MEMORY_BYTES);
+    }
+
+    /**
+     * Creates a table that uses at most the given amount of memory.
+     * @param maxBytes The memory the table may use, in bytes.
+     * @throws IllegalArgumentException If the memory is too small for a
+     * single bucket.
+     */
+    public TranspositionTable(long maxBytes) {
+        long maxBuckets = maxBytes / ((long) ENTRY_BYTES * BUCKET_SIZE);
+
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("Transposition table needs at " +
+                    "least " + ENTRY_BYTES * BUCKET_SIZE + " bytes");
+        }
+
+        // Round down to a power of two, capped so the arrays can be indexed
+        int buckets = Integer.highestOneBit((int) Math.min(maxBuckets,
+                Integer.MAX_VALUE / BUCKET_SIZE));
+
+        this.hashes = new long[buckets * BUCKET_SIZE];
+        this.depths = new byte[buckets * BUCKET_SIZE];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Records that a position is about to be searched at a depth.
+     * @param hash The Zobrist hash of the position.
+     * @param depth The depth the position was reached at.
+     * @return True if the position should be searched, false if it was
+     * already searched at the same or a shallower depth.
+     */
+    public boolean visit(long hash, int depth) {
+        byte storedDepth = (byte) (Math.min(depth, MAX_STORED_DEPTH) + 1);
+        int bucket = bucketIndex(hash);
+        int replace = -1;
+
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            if (depths[i] == 0) {
+                if (replace == -1 || depths[replace] != 0) {
+                    replace = i;
+                }
+                continue;
+            }
+
+            if (hashes[i] == hash) {
+                if (depths[i] <= storedDepth) {
+                    return false;
+                }
+
+                depths[i] = storedDepth;
+                return true;
+            }
+
+            if (replace == -1 ||
+                    (depths[replace] != 0 && depths[i] > depths[replace])) {
+                replace = i;
+            }
+        }
+
+        if (depths[replace] == 0) {
+            size++;
+        } else {
+            evictions++;
+        }
+
+        hashes[replace] = hash;
+        depths[replace] = storedDepth;
+        return true;
+    }
+
+    /**
+     * Returns true if a position has been stored.
+     * @param hash The Zobrist hash of the position.
+     * @return True if the position is in the table.
+     */
+    public boolean contains(long hash) {
+        int bucket = bucketIndex(hash);
+
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            if (depths[i] != 0 && hashes[i] == hash) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes every entry from the table.
+     */
+    public void clear() {
+        Arrays.fill(depths, (byte) 0);
+        size = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Returns the number of entries in use.
+     * @return The number of stored positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     * @return The capacity of the table.
+     */
+    public int capacity() {
+        return depths.length;
+    }
+
+    /**
+     * Returns the number of positions that were evicted to make room.
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the index of the first entry in the bucket of a hash.
+     * @param hash The Zobrist hash of the position.
+     * @return The index of the bucket's first entry.
+     */
+    private int bucketIndex(long hash) {
+        // The low bits of the key are well mixed by the Zobrist keys
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,100 @@
+package project.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.model.Board;
+import project.model.DefaultBoard;
+import project.model.Rabbit;
+import project.model.XMLParser;
+import project.solver.SolverRequest;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchValidatorTest {
+
+    @TempDir
+    File directory;
+
+    private BatchValidator validator = new BatchValidator(2,
+            SolverRequest.Algorithm.SHORTEST, SolverRequest.UNLIMITED,
+            Duration.ofSeconds(30));
+
+    @Test
+    void testValidateDirectory() {
+        Board unsolvable = new Board(5, 5).setItem(new Rabbit(1, 1));
+
+        try {
+            XMLParser.writeToXMLFile(new DefaultBoard().getBoard(),
+                    new File(directory, "a").getPath());
+            XMLParser.writeToXMLFile(unsolvable,
+                    new File(directory, "b").getPath());
+
+            try (Writer writer = new FileWriter(new File(directory, "c.XML"))) {
+                writer.write("<Board>");
+            }
+
+            List<LevelReport> reports = validator.validate(directory);
+
+            assertEquals(3, reports.size());
+
+            assertEquals("a.XML", reports.get(0).fileName);
+            assertTrue(reports.get(0).isSolvable());
+            assertEquals(3, reports.get(0).getSolutionLength());
+            assertTrue(reports.get(0).getNodes() > 0);
+
+            assertFalse(reports.get(1).isSolvable());
+            assertEquals("NO_SOLUTION", reports.get(1).getStatus());
+            assertEquals(-1, reports.get(1).getSolutionLength());
+
+            assertEquals("ERROR", reports.get(2).getStatus());
+            assertNotNull(reports.get(2).error);
+        } catch (IOException | InterruptedException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void testWriteReports() {
+        try {
+            XMLParser.writeToXMLFile(new DefaultBoard().getBoard(),
+                    new File(directory, "level, one").getPath());
+
+            List<LevelReport> reports = validator.validate(directory);
+            StringWriter csv = new StringWriter();
+            StringWriter json = new StringWriter();
+
+            BatchValidator.writeCSV(reports, csv);
+            BatchValidator.writeJSON(reports, json);
+
+            String[] lines = csv.toString().split("\n");
+            assertEquals("file,status,solvable,length,nodes,millis,error",
+                    lines[0]);
+            assertTrue(lines[1].startsWith("\"level, one.XML\",SOLVED,true,3,"));
+            assertTrue(json.toString().contains("\"file\": \"level, one.XML\", " +
+                    "\"status\": \"SOLVED\", \"solvable\": true, \"length\": 3"));
+        } catch (IOException | InterruptedException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchValidator(0, SolverRequest.Algorithm.SHORTEST,
+                        SolverRequest.UNLIMITED, Duration.ofSeconds(30)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchValidator(2, SolverRequest.Algorithm.SHORTEST,
+                        -1, Duration.ofSeconds(30)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchValidator(2, SolverRequest.Algorithm.SHORTEST,
+                        SolverRequest.UNLIMITED, Duration.ofSeconds(-1)));
+    }
+}
@@ -2,6 +2,9 @@ package project.model;
 
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BoardHistoryTest {
@@ -161,4 +164,122 @@ public class BoardHistoryTest {
             Assertions.fail(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the boards reached by sliding the bottom fox of the default
+     * board back and forth, ending with the rabbit jumping into the hole.
+     */
+    private static List<Board> slides(int count) throws InvalidMoveException {
+        List<Board> boards = new ArrayList<>();
+        Board board = new DefaultBoard().getBoard();
+        boards.add(board);
+
+        for (int i = 0; i < count; i++) {
+            board = i % 2 == 0 ?
+                    board.move(new Coordinate(3, 3), new Coordinate(3, 1)) :
+                    board.move(new Coordinate(3, 1), new Coordinate(3, 3));
+            boards.add(board);
+        }
+
+        return boards;
+    }
+
+    @Test
+    void undoAndRedoLongHistory() throws InvalidMoveException {
+        List<Board> boards = slides(100);
+        BoardHistory history = new BoardHistory(boards.get(0));
+
+        for (int i = 1; i < boards.size(); i++) {
+            history.addState(boards.get(i));
+        }
+
+        for (int i = boards.size() - 2; i >= 0; i--) {
+            assertEquals(boards.get(i), history.getUndoBoard());
+        }
+
+        for (int i = 1; i < boards.size(); i++) {
+            assertEquals(boards.get(i), history.getRedoBoard());
+        }
+    }
+
+    @Test
+    void undoAndRedoOverlappingFoxSlides() throws InvalidMoveException {
+        // The fox slides one cell at a time, so its new cells overlap its old
+        Board board = new DefaultBoard().getBoard();
+        List<Board> boards = new ArrayList<>();
+        boards.add(board);
+
+        for (int i = 0; i < 80; i++) {
+            int from = i % 4 < 2 ? 3 - i % 4 : i % 4 - 1;
+            int to = i % 4 < 2 ? from - 1 : from + 1;
+
+            board = board.move(new Coordinate(3, from), new Coordinate(3, to));
+            boards.add(board);
+        }
+
+        BoardHistory history = new BoardHistory(boards.get(0));
+
+        for (int i = 1; i < boards.size(); i++) {
+            history.addState(boards.get(i));
+        }
+
+        for (int i = boards.size() - 2; i >= 0; i--) {
+            assertEquals(boards.get(i), history.getUndoBoard());
+        }
+
+        for (int i = 1; i < boards.size(); i++) {
+            assertEquals(boards.get(i), history.getRedoBoard());
+        }
+
+        history.setCurrentMove(50);
+
+        assertEquals(boards.get(49), history.getUndoBoard());
+        assertEquals(boards.get(50), history.getRedoBoard());
+    }
+
+    @Test
+    void addingAfterUndoForgetsRedoStates() throws InvalidMoveException {
+        List<Board> boards = slides(4);
+        BoardHistory history = new BoardHistory(boards.get(0));
+
+        for (int i = 1; i < boards.size(); i++) {
+            history.addState(boards.get(i));
+        }
+
+        history.getUndoBoard();
+        history.getUndoBoard();
+
+        Board jumped = boards.get(2).move(new Coordinate(4, 2),
+                new Coordinate(2, 2));
+        history.addState(jumped);
+
+        assertEquals(4, history.size());
+        assertEquals(jumped, history.getRedoBoard());
+        assertEquals(boards.get(2), history.getUndoBoard());
+        assertEquals(jumped, history.getRedoBoard());
+    }
+
+    @Test
+    void historyKeepsAtMostMaxStates() throws InvalidMoveException {
+        List<Board> boards = slides(200);
+        BoardHistory history = new BoardHistory(boards.get(0), 64);
+
+        for (int i = 1; i < boards.size(); i++) {
+            history.addState(boards.get(i));
+            assertTrue(history.size() <= 64);
+        }
+
+        assertEquals(history.size() - 1, history.getCurrentMove());
+
+        Board oldest = null;
+
+        for (int i = 0; i < history.size(); i++) {
+            oldest = history.getUndoBoard();
+        }
+
+        assertEquals(boards.get(boards.size() - history.size()), oldest);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoardHistory(boards.get(0),
+                        BoardHistory.SNAPSHOT_INTERVAL));
+    }
+}
@@ -0,0 +1,115 @@
+package project.model;
+
+import com.google.common.base.Optional;
+import io.atlassian.fugue.Pair;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardNotationTest {
+
+    @Test
+    void testDefaultBoardNotation() {
+        Board board = new DefaultBoard().getBoard();
+
+        assertEquals("HmfU1Hr/1F^1M1/Ur1H1U/2F>f1/H1Ur1H", board.toNotation());
+        assertEquals(board, Board.fromNotation(board.toNotation()));
+    }
+
+    @Test
+    void testEveryCellRoundTrips() {
+        Board board = new Board.Builder(4, 12)
+                .setItem(new Rabbit(0, 0))
+                .setItem(Mushroom.of(new Coordinate(0, 1)))
+                .setItem(Hole.empty(new Coordinate(0, 2)))
+                .setItem(new Hole(new Coordinate(0, 3),
+                        Optional.of(new Rabbit(0, 3))))
+                .setItem(new Hole(new Coordinate(0, 4),
+                        Optional.of(Mushroom.of(new Coordinate(0, 4)))))
+                .setItem(ElevatedBoardItem.empty(new Coordinate(0, 5)))
+                .setItem(new ElevatedBoardItem(new Coordinate(0, 6),
+                        Optional.of(new Rabbit(0, 6))))
+                .setItem(new ElevatedBoardItem(new Coordinate(0, 7),
+                        Optional.of(Mushroom.of(new Coordinate(0, 7)))))
+                .setItem(new Fox(Pair.pair(new Coordinate(1, 0),
+                        new Coordinate(2, 0))))
+                .setItem(new Fox(Pair.pair(new Coordinate(3, 1),
+                        new Coordinate(2, 1))))
+                .setItem(new Fox(Pair.pair(new Coordinate(1, 3),
+                        new Coordinate(1, 2))))
+                .setItem(new Fox(Pair.pair(new Coordinate(1, 4),
+                        new Coordinate(1, 5))))
+                .build();
+
+        assertEquals("RMHHrHmUUrUm4/Fv1fF<F>f6/ff10/1F^10",
+                board.toNotation());
+        assertEquals(board, Board.fromNotation(board.toNotation()));
+        assertEquals(new Board(3, 12), Board.fromNotation("12/12/12"));
+    }
+
+    @Test
+    void testInvalidNotationIsRejected() {
+        // Rows of different lengths
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("R1/R"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("R/R1"));
+        // Unknown cells and runs of no cells
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("RX"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("0R"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("Fx"));
+        // Foxes without their tail, or tails without a fox
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("F>1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("F<f"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("1f"));
+        // Foxes with their tail off the board
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("F^"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("f1/Fv"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("1F>"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("F</f1"));
+        // Two foxes sharing a tail
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("F>fF<2/5/5/5/5"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("99999999999"));
+    }
+
+    @Test
+    void testNotationSizeIsLimited() {
+        // Boards without cells, or with an empty row
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation(""));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("/"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("R//R"));
+        // Boards larger than a level can be, rejected before allocating
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("999999999"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation("256"));
+
+        StringBuilder rows = new StringBuilder("1");
+
+        for (int row = 1; row <= BinaryLevel.MAX_SIZE; row++) {
+            rows.append("/1");
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.fromNotation(rows));
+
+        Board largest = Board.fromNotation("255");
+
+        assertEquals(BinaryLevel.MAX_SIZE, largest.numberOfColumns);
+    }
+}
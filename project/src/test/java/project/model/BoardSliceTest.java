@@ -0,0 +1,50 @@
+package project.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardSliceTest {
+
+    @Test
+    void testRowSlice() {
+        Board board = new Board(3, 4).setItem(new Rabbit(1, 2));
+        BoardSlice slice = board.getRowSlice(1);
+
+        assertEquals(4, slice.size());
+        assertTrue(slice.contains(new Coordinate(1, 0)));
+        assertTrue(slice.contains(new Coordinate(1, 3)));
+        assertFalse(slice.contains(new Coordinate(1, 4)));
+        assertFalse(slice.contains(new Coordinate(1, -1)));
+        assertFalse(slice.contains(new Coordinate(0, 2)));
+
+        assertTrue(slice.get(2) instanceof Rabbit);
+        assertTrue(slice.get(new Coordinate(1, 2)) instanceof Rabbit);
+        assertNull(slice.get(new Coordinate(0, 2)));
+    }
+
+    @Test
+    void testColumnSlice() {
+        Board board = new Board(3, 4).setItem(new Rabbit(2, 1));
+        BoardSlice slice = board.getColumnSlice(1);
+
+        assertEquals(3, slice.size());
+        assertTrue(slice.contains(new Coordinate(2, 1)));
+        assertFalse(slice.contains(new Coordinate(3, 1)));
+        assertFalse(slice.contains(new Coordinate(2, 2)));
+
+        assertTrue(slice.get(2) instanceof Rabbit);
+        assertTrue(slice.get(0) instanceof EmptyBoardItem);
+        assertNull(slice.get(3));
+    }
+
+    @Test
+    void testSliceIsUnchangedByLaterBoards() {
+        Board board = new Board(2, 2);
+        BoardSlice slice = board.getRowSlice(0);
+
+        board.setItem(new Rabbit(0, 0));
+
+        assertTrue(slice.get(0) instanceof EmptyBoardItem);
+    }
+}
@@ -382,4 +382,299 @@ public class BoardTest {
         }
     }
 
+    @Test
+    void testPositionHashMatchesFullHash() {
+        Board board = new DefaultBoard().getBoard();
+
+        assertEquals(Zobrist.hash(board), board.getPositionHash());
+
+        try {
+            board = board.move(new Coordinate(4, 2), new Coordinate(2, 2));
+            assertEquals(Zobrist.hash(board), board.getPositionHash(),
+                    "The hash should be kept up to date after a jump");
+
+            board = board.move(new Coordinate(3, 3), new Coordinate(3, 1));
+            assertEquals(Zobrist.hash(board), board.getPositionHash(),
+                    "The hash should be kept up to date after a slide");
+        } catch (InvalidMoveException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void testEqualBoardsHaveEqualHashCodes() {
+        Board board = new Board(3, 3);
+        board = board.setItem(new Rabbit(0, 0));
+        board = board.setItem(new Mushroom(new Coordinate(1, 1)));
+
+        Board otherBoard = new Board(3, 3);
+        otherBoard = otherBoard.setItem(new Mushroom(new Coordinate(1, 1)));
+        otherBoard = otherBoard.setItem(new Rabbit(0, 0));
+
+        assertEquals(board, otherBoard);
+        assertEquals(board.hashCode(), otherBoard.hashCode());
+
+        otherBoard = otherBoard.setItem(new EmptyBoardItem(new Coordinate(0, 0)));
+
+        assertNotEquals(board, otherBoard);
+    }
+
+    @Test
+    void testGetItemByCell() {
+        Board board = new DefaultBoard().getBoard();
+
+        for (int row = 0; row < board.numberOfRows; row++) {
+            for (int column = 0; column < board.numberOfColumns; column++) {
+                Coordinate coordinate = new Coordinate(row, column);
+                BoardItem item = board.getItem(coordinate);
+
+                assertSame(item, board.getItem(row, column));
+                assertSame(item, board.getItem(
+                        row * board.numberOfColumns + column));
+                assertSame(item, board.getItems().get(coordinate));
+            }
+        }
+
+        assertNull(board.getItem(new Coordinate(5, 0)));
+        assertNull(board.getItem(-1, 2));
+        assertEquals(25, board.getItems().size());
+    }
+
+    @Test
+    void testSetItemLeavesOriginalUnchanged() {
+        Board board = new Board(2, 2);
+        Board rabbitBoard = board.setItem(new Rabbit(1, 0));
+
+        assertTrue(board.getItem(1, 0) instanceof EmptyBoardItem);
+        assertTrue(board.getItems().get(new Coordinate(1, 0))
+                instanceof EmptyBoardItem);
+        assertTrue(rabbitBoard.getItem(1, 0) instanceof Rabbit);
+        assertTrue(rabbitBoard.getItems().get(new Coordinate(1, 0))
+                instanceof Rabbit);
+    }
+
+    @Test
+    void testCoordinatesAreShared() {
+        Coordinate coordinate = Coordinate.of(1, 2);
+
+        assertSame(coordinate, Coordinate.of(1, 2));
+        assertEquals(new Coordinate(1, 2), coordinate);
+        assertEquals(new Coordinate(1, 2).hashCode(), coordinate.hashCode());
+        assertEquals(new Coordinate(-1, 40), Coordinate.of(-1, 40));
+    }
+
+    @Test
+    void testStatelessItemsAreShared() {
+        Coordinate coordinate = Coordinate.of(2, 3);
+
+        assertSame(EmptyBoardItem.of(coordinate), EmptyBoardItem.of(coordinate));
+        assertSame(Mushroom.of(coordinate), Mushroom.of(coordinate));
+        assertSame(Hole.empty(coordinate), Hole.empty(coordinate));
+        assertSame(ElevatedBoardItem.empty(coordinate),
+                ElevatedBoardItem.empty(coordinate));
+        assertSame(new Board(5, 5).getItem(0, 0),
+                new Board(5, 5).getItem(0, 0));
+    }
+
+    @Test
+    void testRabbitCountsFollowMoves() throws InvalidMoveException {
+        Board board = new Board(1, 4);
+        board = board.setItem(new Rabbit(0, 0));
+        board = board.setItem(new Mushroom(new Coordinate(0, 1)));
+        board = board.setItem(new Hole(new Coordinate(0, 2), Optional.absent()));
+        board = board.setItem(new ElevatedBoardItem(new Coordinate(0, 3),
+                Optional.of(new Rabbit(0, 3))));
+
+        assertEquals(2, board.getFreeRabbitCount());
+        assertEquals(0, board.getRabbitsInHolesCount());
+
+        board = board.jump(Direction.RIGHT, new Coordinate(0, 0));
+
+        assertEquals(1, board.getFreeRabbitCount());
+        assertEquals(1, board.getRabbitsInHolesCount());
+        assertEquals(GameState.IN_PROGRESS, board.currentGameState);
+
+        board = board.setItem(new ElevatedBoardItem(new Coordinate(0, 3),
+                Optional.absent())).updateGameState();
+
+        assertEquals(0, board.getFreeRabbitCount());
+        assertEquals(GameState.SOLVED, board.currentGameState);
+    }
+
+    @Test
+    void testTryMove() {
+        Board board = new Board(1, 4);
+        board = board.setItem(new Rabbit(0, 0));
+        board = board.setItem(new Mushroom(new Coordinate(0, 1)));
+        board = board.setItem(new Hole(new Coordinate(0, 2), Optional.absent()));
+
+        MoveResult result = board.tryMove(new Coordinate(0, 0),
+                new Coordinate(0, 2));
+
+        assertTrue(result.isLegal());
+        assertEquals(GameState.SOLVED, result.board.currentGameState);
+
+        assertEquals(MoveLegality.NO_OBSTACLE, result.board.tryMove(
+                new Coordinate(0, 2), new Coordinate(0, 3)).legality);
+        assertEquals(MoveLegality.RABBIT_OFF_BOARD, board.tryMove(
+                new Coordinate(0, 0), new Coordinate(0, -1)).legality);
+        assertEquals(MoveLegality.EMPTY_CONTAINER, board.tryMove(
+                new Coordinate(0, 2), new Coordinate(0, 3)).legality);
+        assertEquals(MoveLegality.NOT_MOVABLE, board.tryMove(
+                new Coordinate(0, 3), new Coordinate(0, 2)).legality);
+        assertEquals(MoveLegality.SAME_POSITION, board.tryMove(
+                new Coordinate(0, 0), new Coordinate(0, 0)).legality);
+    }
+
+    @Test
+    void testTryMoveRejectsWithoutThrowing() {
+        Board board = new Board(3, 3).setItem(new Fox(Pair.pair(
+                new Coordinate(0, 0), new Coordinate(0, 1))));
+
+        MoveResult result = board.tryMove(new Coordinate(0, 0),
+                new Coordinate(1, 0));
+
+        assertFalse(result.isLegal());
+        assertNull(result.board);
+        assertEquals(MoveLegality.FOX_HORIZONTAL, result.legality);
+        assertSame(result, board.tryMove(new Coordinate(0, 0),
+                new Coordinate(2, 0)));
+
+        assertEquals(MoveLegality.FOX_OFF_BOARD, board.tryMove(
+                new Coordinate(0, 0), new Coordinate(0, 2)).legality);
+        assertThrows(InvalidMoveException.class, () -> board.move(
+                new Coordinate(0, 0), new Coordinate(1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> board.move(
+                new Coordinate(0, 0), new Coordinate(1, 1)));
+    }
+
+    @Test
+    void testPieceListsFollowMoves() throws InvalidMoveException {
+        Board board = new Board(3, 4);
+        board = board.setItem(new Rabbit(0, 0));
+        board = board.setItem(new Mushroom(new Coordinate(0, 1)));
+        board = board.setItem(new Hole(new Coordinate(0, 2), Optional.absent()));
+        board = board.setItem(new Fox(Pair.pair(new Coordinate(2, 1),
+                new Coordinate(2, 0))));
+
+        assertEquals(1, board.getRabbitCells().size());
+        assertEquals(0, board.getRabbitCells().get(0));
+        assertEquals(0, board.getContainedRabbitCells().size());
+        assertEquals(1, board.getFoxHeadCells().size());
+        assertEquals(9, board.getFoxHeadCells().get(0));
+
+        Board jumped = board.move(new Coordinate(0, 0), new Coordinate(0, 2));
+
+        assertEquals(0, jumped.getRabbitCells().size());
+        assertEquals(1, jumped.getContainedRabbitCells().size());
+        assertEquals(2, jumped.getContainedRabbitCells().get(0));
+        assertEquals(CellCode.HOLE_RABBIT, jumped.getCode(2));
+
+        Board slid = jumped.move(new Coordinate(2, 1), new Coordinate(2, 3));
+
+        assertEquals(11, slid.getFoxHeadCells().get(0));
+        assertEquals(CellCode.EMPTY, slid.getCode(8));
+
+        // The earlier boards keep their own lists
+        assertEquals(1, board.getRabbitCells().size());
+        assertEquals(9, jumped.getFoxHeadCells().get(0));
+    }
+
+    @Test
+    void testStaticLayerIsSharedBetweenPositions() throws InvalidMoveException {
+        Board board = new Board(3, 4);
+        board = board.setItem(new Rabbit(0, 0));
+        board = board.setItem(new Mushroom(new Coordinate(0, 1)));
+        board = board.setItem(new Hole(new Coordinate(0, 2), Optional.absent()));
+        board = board.setItem(new ElevatedBoardItem(new Coordinate(1, 3),
+                Optional.absent()));
+        board = board.setItem(new Fox(Pair.pair(new Coordinate(2, 1),
+                new Coordinate(2, 0))));
+
+        StaticLayer layer = board.getStaticLayer();
+
+        assertTrue(layer.isHole(2));
+        assertTrue(layer.isElevated(7));
+        assertTrue(layer.isContainer(7));
+        assertTrue(layer.hasMushroom(1));
+        assertFalse(layer.isContainer(0));
+        assertEquals(-1, layer.getNeighbour(0, Direction.UP));
+        assertEquals(-1, layer.getNeighbour(0, Direction.LEFT));
+        assertEquals(4, layer.getNeighbour(0, Direction.DOWN));
+        assertEquals(1, layer.getNeighbour(0, Direction.RIGHT));
+        assertEquals(-1, layer.getNeighbour(11, Direction.RIGHT));
+
+        // Moving pieces keeps the layer, even into and out of containers
+        Board jumped = board.move(new Coordinate(0, 0), new Coordinate(0, 2));
+        Board slid = jumped.applyUnchecked(new Coordinate(2, 1),
+                new Coordinate(2, 3));
+
+        assertSame(layer, jumped.getStaticLayer());
+        assertSame(layer, slid.getStaticLayer());
+        assertTrue(slid.getStaticLayer().isHole(2));
+
+        // Changing the level builds a new one
+        Board changed = slid.setItem(new Hole(new Coordinate(2, 0),
+                Optional.absent()));
+
+        assertNotSame(layer, changed.getStaticLayer());
+        assertTrue(changed.getStaticLayer().isHole(8));
+        assertFalse(layer.isHole(8));
+    }
+
+    @Test
+    void testBuilderMatchesSetItem() {
+        Hole hole = new Hole(new Coordinate(0, 2), Optional.of(new Rabbit(0, 2)));
+        Fox fox = new Fox(Pair.pair(new Coordinate(2, 1), new Coordinate(2, 0)));
+        Mushroom mushroom = new Mushroom(new Coordinate(0, 1));
+
+        Board board = new Board(3, 4).setItem(hole).setItem(fox)
+                .setItem(mushroom);
+        Board built = new Board.Builder(3, 4).setItem(hole).setItem(fox)
+                .setItem(mushroom).build();
+
+        assertEquals(board, built);
+        assertEquals(board.getPositionHash(), built.getPositionHash());
+        assertEquals(1, built.getContainedRabbitCells().size());
+        assertEquals(9, built.getFoxHeadCells().get(0));
+    }
+
+    @Test
+    void testBuilderLeavesBuiltBoardsUnchanged() {
+        Board.Builder builder = new Board.Builder(2, 2)
+                .setItem(new Rabbit(0, 0));
+        Board first = builder.build();
+
+        Board second = builder.setItem(new Mushroom(new Coordinate(0, 1)))
+                .build(GameState.SOLVED);
+
+        assertTrue(first.getItem(0, 1) instanceof EmptyBoardItem);
+        assertTrue(second.getItem(0, 1) instanceof Mushroom);
+        assertTrue(second.getItem(0, 0) instanceof Rabbit);
+        assertEquals(GameState.SOLVED, second.currentGameState);
+
+        Board copied = new Board.Builder(second)
+                .setItem(EmptyBoardItem.of(new Coordinate(0, 0))).build();
+
+        assertTrue(second.getItem(0, 0) instanceof Rabbit);
+        assertTrue(copied.getItem(0, 0) instanceof EmptyBoardItem);
+        assertEquals(GameState.IN_PROGRESS, copied.currentGameState);
+    }
+
+    @Test
+    void testBitboardsOnlyForSmallBoards() {
+        Board small = new Board(8, 8)
+                .setItem(new Mushroom(new Coordinate(0, 1)))
+                .setItem(new Hole(new Coordinate(0, 2)));
+        Board large = new Board(9, 9)
+                .setItem(new Mushroom(new Coordinate(0, 1)))
+                .setItem(new Hole(new Coordinate(0, 2)));
+
+        assertEquals(1L << 1, small.getObstacleBits());
+        assertEquals(1L << 2, small.getContainerBits());
+        assertEquals(0L, large.getObstacleBits(),
+                "boards of more than 64 cells have no bitboard");
+        assertEquals(0L, large.getContainerBits(),
+                "boards of more than 64 cells have no bitboard");
+    }
 }
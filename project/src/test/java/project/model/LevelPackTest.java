@@ -0,0 +1,148 @@
+package project.model;
+
+import com.google.common.base.Optional;
+import io.atlassian.fugue.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelPackTest {
+
+    @TempDir
+    Path directory;
+
+    private static Board board() {
+        return new Board.Builder(3, 4)
+                .setItem(new Hole(new Coordinate(0, 2),
+                        Optional.of(new Rabbit(0, 2))))
+                .setItem(new ElevatedBoardItem(new Coordinate(1, 3),
+                        Optional.of(Mushroom.of(new Coordinate(1, 3)))))
+                .setItem(new Fox(Pair.pair(new Coordinate(2, 1),
+                        new Coordinate(2, 0))))
+                .setItem(new Fox(Pair.pair(new Coordinate(0, 1),
+                        new Coordinate(1, 1))))
+                .setItem(new Rabbit(0, 0))
+                .build();
+    }
+
+    @Test
+    void testBinaryLevelRoundTrip() {
+        Board board = new DefaultBoard().getBoard();
+        byte[] bytes = BinaryLevel.encode(board);
+
+        assertEquals(15, bytes.length);
+        assertEquals(board, BinaryLevel.decode(bytes));
+        assertEquals(board(), BinaryLevel.decode(BinaryLevel.encode(board())));
+    }
+
+    @Test
+    void testBinaryLevelRejectsInvalidLevels() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.encode(new Board(256, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {5, 5, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {1, 1, 15}));
+    }
+
+    @Test
+    void testBinaryLevelRejectsFoxesWithoutTails() {
+        // A 1x1 level holding a fox head with its tail above the board
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {1, 1,
+                        CellCode.FOX_HEAD_TAIL_UP}));
+        // A 1x2 level with the tail to the right of the head replaced by a
+        // rabbit
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {1, 2, (byte)
+                        (CellCode.FOX_HEAD_TAIL_RIGHT |
+                                CellCode.RABBIT << CellCode.BITS)}));
+        // A 2x1 level with its tail below, on the last row
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {2, 1, (byte)
+                        (CellCode.FOX_TAIL |
+                                CellCode.FOX_HEAD_TAIL_DOWN << CellCode.BITS)}));
+
+        Board fox = BinaryLevel.decode(new byte[] {1, 2, (byte)
+                (CellCode.FOX_HEAD_TAIL_RIGHT |
+                        CellCode.FOX_TAIL << CellCode.BITS)});
+
+        assertTrue(fox.getItem(0, 1) instanceof Fox);
+    }
+
+    @Test
+    void testBinaryLevelRejectsSharedTails() {
+        // A 1x3 level of two heads sharing the tail between them
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {1, 3, (byte)
+                        (CellCode.FOX_HEAD_TAIL_RIGHT |
+                                CellCode.FOX_TAIL << CellCode.BITS),
+                        CellCode.FOX_HEAD_TAIL_LEFT}));
+    }
+
+    @Test
+    void testBinaryLevelRejectsTailsWithoutHeads() {
+        // A 1x2 level with a tail that no head claims
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryLevel.decode(new byte[] {1, 2, (byte)
+                        (CellCode.RABBIT |
+                                CellCode.FOX_TAIL << CellCode.BITS)}));
+    }
+
+    @Test
+    void testPackOpensLevelsById() throws IOException {
+        List<Board> levels = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            levels.add(i % 2 == 0 ? new DefaultBoard().getBoard() :
+                    board().setItem(new Rabbit(2, i % 4 == 1 ? 2 : 3)));
+        }
+
+        Path file = directory.resolve("levels.pack");
+        LevelPack.write(levels, file);
+        LevelPack pack = LevelPack.open(file);
+
+        assertEquals(100, pack.size());
+        assertEquals(levels.get(57), pack.getLevel(57));
+        assertEquals(levels.get(0), pack.getLevel(0));
+        assertEquals(levels, pack.getLevels());
+        assertThrows(IndexOutOfBoundsException.class, () -> pack.getLevel(100));
+    }
+
+    @Test
+    void testPackConvertsToAndFromXML() throws IOException,
+            XMLStreamException {
+        File xml = directory.resolve("levels.XML").toFile();
+        Path file = directory.resolve("levels.pack");
+
+        XMLParser.writeToXMLFile(Arrays.asList(board(),
+                new DefaultBoard().getBoard(), new Board(1, 1)), xml);
+        LevelPack.write(XMLParser.boardsFromXML(xml), file);
+
+        File converted = directory.resolve("converted.XML").toFile();
+        XMLParser.writeToXMLFile(LevelPack.open(file).getLevels(), converted);
+
+        assertEquals(XMLParser.boardsFromXML(xml),
+                XMLParser.boardsFromXML(converted));
+        assertArrayEquals(Files.readAllBytes(xml.toPath()),
+                Files.readAllBytes(converted.toPath()));
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("level.XML");
+        Files.write(file, new Board(1, 1).toXML().getBytes());
+
+        assertThrows(IOException.class, () -> LevelPack.open(file));
+    }
+}
@@ -0,0 +1,74 @@
+package project.model;
+
+import com.google.common.base.Optional;
+import io.atlassian.fugue.Pair;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedBoardTest {
+
+    @Test
+    void testRoundTripDefaultBoard() {
+        Board board = new DefaultBoard().getBoard();
+
+        PackedBoard packed = new PackedBoard(board);
+
+        assertEquals(board, packed.toBoard(),
+                "Unpacking should give back an equal board");
+    }
+
+    @Test
+    void testRoundTripFoxOrientations() {
+        Board board = new Board(4, 4);
+        board = board.setItem(new Fox(Pair.pair(new Coordinate(0, 1),
+                new Coordinate(0, 0))));
+        board = board.setItem(new Fox(Pair.pair(new Coordinate(1, 0),
+                new Coordinate(1, 1))));
+        board = board.setItem(new Fox(Pair.pair(new Coordinate(3, 2),
+                new Coordinate(2, 2))));
+        board = board.setItem(new Fox(Pair.pair(new Coordinate(2, 3),
+                new Coordinate(3, 3))));
+
+        assertEquals(board, new PackedBoard(board).toBoard(),
+                "Every fox orientation should survive packing");
+    }
+
+    @Test
+    void testCodes() {
+        Board board = new Board(1, 3);
+        board = board.setItem(new Rabbit(0, 0));
+        board = board.setItem(new Hole(new Coordinate(0, 1),
+                Optional.of(new Mushroom(new Coordinate(0, 1)))));
+        board = board.setItem(new ElevatedBoardItem(new Coordinate(0, 2),
+                Optional.of(new Rabbit(0, 2))));
+
+        PackedBoard packed = new PackedBoard(board);
+
+        assertEquals(CellCode.RABBIT, packed.getCode(0, 0));
+        assertEquals(CellCode.HOLE_MUSHROOM, packed.getCode(0, 1));
+        assertEquals(CellCode.ELEVATED_RABBIT, packed.getCode(0, 2));
+    }
+
+    @Test
+    void testEqualBoardsPackEqually() {
+        Board board = new DefaultBoard().getBoard();
+        Board otherBoard = new DefaultBoard().getBoard();
+
+        assertEquals(new PackedBoard(board), new PackedBoard(otherBoard));
+        assertEquals(new PackedBoard(board).hashCode(),
+                new PackedBoard(otherBoard).hashCode());
+    }
+
+    @Test
+    void testDifferentBoardsPackDifferently() {
+        Board board = new DefaultBoard().getBoard();
+
+        try {
+            Board moved = board.move(new Coordinate(3, 3), new Coordinate(3, 1));
+            assertNotEquals(new PackedBoard(board), new PackedBoard(moved));
+        } catch (InvalidMoveException e) {
+            fail(e);
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package project.model;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import com.google.common.base.Optional;
 import io.atlassian.fugue.Pair;
 import org.junit.jupiter.api.Test;
 import project.solver.Move;
+import project.solver.MoveBuffer;
+import project.solver.ParallelSolver;
 import project.solver.Solver;
+import project.solver.SolverProgress;
+import project.solver.SolverRequest;
+import project.solver.SolverResult;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -513,4 +525,443 @@ class SolverTest {
         assertEquals(GameState.SOLVED, board.currentGameState);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSolveShortestOneMove() {
+        //   0 1 2
+//      0    R M H
+
+        Board board = new Board(1,3);
+        board = board.setItem(new Rabbit(0,0));
+        board = board.setItem(new Mushroom(new Coordinate(0,1)));
+        board = board.setItem(new Hole(new Coordinate(0,2)));
+
+        List<Move> moves = Solver.solveShortest(board);
+
+        assertNotNull(moves);
+        assertEquals(1, moves.size(), "the board is solved with one jump");
+        assertEquals(new Coordinate(0,2), moves.get(0).ending);
+    }
+
+    @Test
+    void testSolveShortestUnsolvable() {
+        Board board = new Board(3,3);
+        board = board.setItem(new Rabbit(1,1));
+
+        assertNull(Solver.solveShortest(board),
+                "a rabbit without obstacles or holes cannot be solved");
+    }
+
+    @Test
+    void testSolveShortestDefaultBoard() {
+        Board board = new DefaultBoard().getBoard();
+
+        List<Move> shortest = Solver.solveShortest(board);
+        List<Move> depthFirst = Solver.solve(board);
+
+        assertNotNull(shortest);
+        assertTrue(shortest.size() <= depthFirst.size(),
+                "breadth first should never find a longer solution");
+
+        for (Move move : shortest) {
+            try {
+                board = board.move(move.initial, move.ending);
+            } catch (Exception e) {
+                fail();
+            }
+        }
+
+        assertEquals(GameState.SOLVED, board.currentGameState);
+    }
+
+    @Test
+    void testSolveOptimalOneMove() {
+        //   0 1 2
+//      0    R M H
+
+        Board board = new Board(1,3);
+        board = board.setItem(new Rabbit(0,0));
+        board = board.setItem(new Mushroom(new Coordinate(0,1)));
+        board = board.setItem(new Hole(new Coordinate(0,2)));
+
+        List<Move> moves = Solver.solveOptimal(board);
+
+        assertNotNull(moves);
+        assertEquals(1, moves.size(), "the board is solved with one jump");
+    }
+
+    @Test
+    void testSolveOptimalMatchesShortest() {
+        Board board = new DefaultBoard().getBoard();
+
+        List<Move> optimal = Solver.solveOptimal(board);
+        List<Move> shortest = Solver.solveShortest(board);
+
+        assertNotNull(optimal);
+        assertEquals(shortest.size(), optimal.size(),
+                "both searches should find the shortest solution");
+
+        for (Move move : optimal) {
+            try {
+                board = board.move(move.initial, move.ending);
+            } catch (Exception e) {
+                fail();
+            }
+        }
+
+        assertEquals(GameState.SOLVED, board.currentGameState);
+    }
+
+    @Test
+    void testSolveOptimalUnsolvable() {
+        Board board = new Board(3,3);
+        board = board.setItem(new Rabbit(1,1));
+
+        assertNull(Solver.solveOptimal(board));
+    }
+
+    @Test
+    void testEstimateRemainingMoves() {
+        //   0 1 2
+//      0    R M H
+//      1    E E E
+//      2    E R E
+
+        Board board = new Board(3,3);
+        board = board.setItem(new Rabbit(0,0));
+        board = board.setItem(new Mushroom(new Coordinate(0,1)));
+        board = board.setItem(new Hole(new Coordinate(0,2)));
+        board = board.setItem(new Rabbit(2,1));
+
+        assertEquals(3, Solver.estimateRemainingMoves(board),
+                "one rabbit shares a row with the hole, the other does not");
+
+        board = board.setItem(new Hole(new Coordinate(2,1),
+                Optional.of(new Rabbit(2,1))));
+        board = board.setItem(new EmptyBoardItem(new Coordinate(0,0)));
+
+        assertEquals(0, Solver.estimateRemainingMoves(board),
+                "rabbits in holes need no more moves");
+
+        board = board.setItem(new ElevatedBoardItem(new Coordinate(1,0),
+                Optional.of(new Rabbit(1,0))));
+
+        assertEquals(2, Solver.estimateRemainingMoves(board),
+                "a rabbit on an elevated cell still has to reach a hole");
+    }
+
+    @Test
+    void testSolveParallelDefaultBoard() {
+        Board board = new DefaultBoard().getBoard();
+
+        List<Move> moves = new ParallelSolver().solve(board);
+
+        assertNotNull(moves);
+
+        for (Move move : moves) {
+            try {
+                board = board.move(move.initial, move.ending);
+            } catch (Exception e) {
+                fail();
+            }
+        }
+
+        assertEquals(GameState.SOLVED, board.currentGameState);
+    }
+
+    @Test
+    void testSolveParallelUnsolvable() {
+        Board board = new Board(3,3);
+        board = board.setItem(new Rabbit(1,1));
+
+        assertNull(new ParallelSolver(new ForkJoinPool(2)).solve(board));
+    }
+
+    @Test
+    void testSolveParallelMatchesDepthLimit() {
+        // A rabbit jumping over a line of mushrooms into the hole at the end,
+        // one jump per mushroom
+        Board tenJumps = Board.fromNotation("RM1M1M1M1M1M1M1M1M1MH");
+        Board elevenJumps = Board.fromNotation("RM1M1M1M1M1M1M1M1M1M1MH");
+        ParallelSolver solver = new ParallelSolver(new ForkJoinPool(2));
+
+        assertEquals(10, Solver.solve(tenJumps).size());
+        assertEquals(10, solver.solve(tenJumps).size(),
+                "both solvers find solutions of the deepest allowed length");
+        assertNull(Solver.solve(elevenJumps));
+        assertNull(solver.solve(elevenJumps),
+                "neither solver searches past the deepest allowed length");
+    }
+
+    @Test
+    void testGenerateMovesIntoBuffer() {
+        Board board = new DefaultBoard().getBoard();
+        MoveBuffer buffer = new MoveBuffer();
+        int applicable = 0;
+
+        for (Move move : Solver.generateMoves(board)) {
+            try {
+                board.move(move.initial, move.ending);
+                applicable++;
+            } catch (InvalidMoveException e) {
+                // The list generator also proposes moves that are not allowed
+            }
+        }
+
+        Solver.generateMoves(board, buffer);
+
+        assertEquals(applicable, buffer.size(),
+                "only moves that can be made should be generated");
+
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+
+            try {
+                board.move(buffer.coordinate(MoveBuffer.from(move)),
+                        buffer.coordinate(MoveBuffer.to(move)));
+            } catch (InvalidMoveException e) {
+                fail(e);
+            }
+        }
+    }
+
+    @Test
+    void testApplyUncheckedMatchesMove() throws InvalidMoveException {
+        Board elevated = new DefaultBoard().getBoard()
+                .setItem(new ElevatedBoardItem(new Coordinate(2, 2),
+                        Optional.of(new Rabbit(2, 2))));
+        List<Board> boards = new ArrayList<>();
+        boards.add(new DefaultBoard().getBoard());
+        boards.add(elevated);
+
+        // Compare every move of the first few levels of the move tree
+        for (int depth = 0; depth < 3; depth++) {
+            List<Board> next = new ArrayList<>();
+
+            for (Board board : boards) {
+                MoveBuffer buffer = new MoveBuffer();
+                Solver.generateMoves(board, buffer);
+
+                for (int i = 0; i < buffer.size(); i++) {
+                    int move = buffer.get(i);
+                    Coordinate from = buffer.coordinate(MoveBuffer.from(move));
+                    Coordinate to = buffer.coordinate(MoveBuffer.to(move));
+
+                    Board expected = board.move(from, to);
+                    Board actual = board.applyUnchecked(from, to);
+
+                    assertEquals(expected, actual);
+                    assertEquals(expected.getPositionHash(),
+                            actual.getPositionHash());
+                    assertEquals(expected.getFreeRabbitCount(),
+                            actual.getFreeRabbitCount());
+                    next.add(actual);
+                }
+            }
+
+            boards = next;
+        }
+    }
+
+    @Test
+    void testGenerateMovesOnWideBoard() {
+        Board board = new Board(1, 3);
+        board = board.setItem(new Mushroom(new Coordinate(0, 1)));
+        board = board.setItem(new Rabbit(0, 2));
+
+        List<Move> moves = Solver.generateMoves(board);
+
+        assertEquals(1, moves.size(), "the rabbit past the first column " +
+                "should be found");
+        assertEquals(new Coordinate(0, 0), moves.get(0).ending);
+
+        MoveBuffer buffer = new MoveBuffer();
+        Solver.generateMoves(board, buffer);
+
+        assertEquals(1, buffer.size());
+        assertEquals(0, MoveBuffer.to(buffer.get(0)));
+    }
+
+    /**
+     * Checks that the buffer generator finds exactly the positions reachable
+     * by trying to move every cell to every other cell of its row and column,
+     * for the first levels of the move tree.
+     */
+    private static void assertGeneratesEveryLegalMove(Board board, int depth) {
+        List<Board> boards = new ArrayList<>();
+        boards.add(board);
+
+        for (int level = 0; level < depth; level++) {
+            List<Board> next = new ArrayList<>();
+
+            for (Board current : boards) {
+                Set<Long> expected = new HashSet<>();
+
+                for (int row = 0; row < current.numberOfRows; row++) {
+                    for (int column = 0; column < current.numberOfColumns;
+                         column++) {
+                        Coordinate from = new Coordinate(row, column);
+
+                        for (int i = 0; i < current.numberOfRows; i++) {
+                            MoveResult result = current.tryMove(from,
+                                    new Coordinate(i, column));
+
+                            if (result.isLegal()) {
+                                expected.add(result.board.getPositionHash());
+                            }
+                        }
+
+                        for (int i = 0; i < current.numberOfColumns; i++) {
+                            MoveResult result = current.tryMove(from,
+                                    new Coordinate(row, i));
+
+                            if (result.isLegal()) {
+                                expected.add(result.board.getPositionHash());
+                            }
+                        }
+                    }
+                }
+
+                MoveBuffer buffer = new MoveBuffer();
+                Solver.generateMoves(current, buffer);
+                Set<Long> generated = new HashSet<>();
+
+                for (int i = 0; i < buffer.size(); i++) {
+                    int move = buffer.get(i);
+                    Board moved = current.applyUnchecked(
+                            buffer.coordinate(MoveBuffer.from(move)),
+                            buffer.coordinate(MoveBuffer.to(move)));
+
+                    generated.add(moved.getPositionHash());
+                    next.add(moved);
+                }
+
+                assertEquals(expected, generated);
+                assertEquals(generated.size(), buffer.size(),
+                        "every move should reach a different position");
+            }
+
+            boards = next;
+        }
+    }
+
+    @Test
+    void testBitboardMovesMatchLegalMoves() {
+        assertGeneratesEveryLegalMove(new DefaultBoard().getBoard(), 3);
+    }
+
+    @Test
+    void testGenerateMovesOnLargeBoard() {
+        // Too many cells for bitboards, moves are found cell by cell
+        Board board = new Board(9, 9);
+
+        for (BoardItem item : new DefaultBoard().getBoard().getItems()
+                .values()) {
+            board = board.setItem(item);
+        }
+
+        board = board.setItem(new Mushroom(new Coordinate(8, 7)));
+        board = board.setItem(new Rabbit(8, 8));
+
+        assertGeneratesEveryLegalMove(board, 2);
+    }
+
+    @Test
+    void testMoveBufferEncoding() {
+        int move = MoveBuffer.encode(24, 3, MoveBuffer.FOX);
+
+        assertEquals(24, MoveBuffer.from(move));
+        assertEquals(3, MoveBuffer.to(move));
+        assertEquals(MoveBuffer.FOX, MoveBuffer.kind(move));
+    }
+
+    @Test
+    void testSolveRequest() {
+        Board board = new DefaultBoard().getBoard();
+        List<SolverProgress> reports = new ArrayList<>();
+
+        SolverResult result = Solver.solve(new SolverRequest(board)
+                .withAlgorithm(SolverRequest.Algorithm.SHORTEST)
+                .withProgressListener(reports::add));
+
+        assertEquals(SolverResult.Status.SOLVED, result.status);
+        assertEquals(Solver.solveShortest(board).size(), result.moves.size());
+        assertTrue(result.nodes > 0);
+        assertFalse(reports.isEmpty(), "a last report is sent when the " +
+                "search ends");
+        assertEquals(result.nodes, reports.get(reports.size() - 1).nodes);
+    }
+
+    @Test
+    void testSolveParallelRequestCountsOwnFrontier() {
+        Board board = new DefaultBoard().getBoard();
+        List<SolverProgress> reports =
+                Collections.synchronizedList(new ArrayList<>());
+
+        SolverResult result = new ParallelSolver(new ForkJoinPool(2)).solve(
+                new SolverRequest(board).withProgressListener(
+                        reports::add, Duration.ZERO));
+
+        assertEquals(SolverResult.Status.SOLVED, result.status);
+        assertFalse(reports.isEmpty());
+
+        for (SolverProgress report : reports) {
+            assertTrue(report.frontierSize >= 0);
+        }
+
+        assertEquals(0, reports.get(reports.size() - 1).frontierSize,
+                "every task has started or been cancelled once the search ends");
+    }
+
+    @Test
+    void testSolveRequestNodeBudget() {
+        Board board = new DefaultBoard().getBoard();
+
+        for (SolverRequest.Algorithm algorithm :
+                SolverRequest.Algorithm.values()) {
+            SolverResult result = Solver.solve(new SolverRequest(board)
+                    .withAlgorithm(algorithm)
+                    .withNodeBudget(2));
+
+            assertEquals(SolverResult.Status.NODE_BUDGET_EXCEEDED,
+                    result.status, algorithm.toString());
+            assertNull(result.moves);
+            assertTrue(result.nodes <= 3);
+        }
+    }
+
+    @Test
+    void testSolveRequestDeadline() {
+        Board board = new DefaultBoard().getBoard();
+
+        SolverResult result = Solver.solve(new SolverRequest(board)
+                .withTimeout(Duration.ZERO));
+
+        assertEquals(SolverResult.Status.DEADLINE_EXCEEDED, result.status);
+    }
+
+    @Test
+    void testSolveRequestCancelled() {
+        Board board = new DefaultBoard().getBoard();
+        SolverRequest request = new SolverRequest(board)
+                .withAlgorithm(SolverRequest.Algorithm.OPTIMAL);
+        request.cancel();
+
+        assertEquals(SolverResult.Status.CANCELLED,
+                Solver.solve(request).status);
+        assertEquals(SolverResult.Status.CANCELLED,
+                new ParallelSolver(new ForkJoinPool(2)).solve(request).status);
+    }
+
+    @Test
+    void testSolveRequestNoSolution() {
+        Board board = new Board(3,3);
+        board = board.setItem(new Rabbit(1,1));
+
+        SolverResult result = Solver.solve(new SolverRequest(board)
+                .withAlgorithm(SolverRequest.Algorithm.SHORTEST));
+
+        assertEquals(SolverResult.Status.NO_SOLUTION, result.status);
+        assertFalse(result.isSolved());
+    }
+}
@@ -0,0 +1,113 @@
+package project.model;
+
+import org.junit.jupiter.api.Test;
+import project.solver.ConcurrentTranspositionTable;
+import project.solver.TranspositionTable;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testVisitSkipsRepeatedPosition() {
+        TranspositionTable table = new TranspositionTable();
+
+        assertTrue(table.visit(42L, 3), "A new position should be searched");
+        assertFalse(table.visit(42L, 3),
+                "A position searched at the same depth should be skipped");
+        assertFalse(table.visit(42L, 5),
+                "A position searched at a shallower depth should be skipped");
+        assertTrue(table.visit(42L, 1),
+                "A position reached at a shallower depth should be searched");
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testMemoryCapEvictsEntries() {
+        TranspositionTable table = new TranspositionTable(1024);
+        int capacity = table.capacity();
+
+        assertTrue(capacity * (Long.BYTES + 1) <= 1024,
+                "The table should stay within its memory limit");
+
+        for (long hash = 1; hash <= capacity * 4; hash++) {
+            table.visit(hash * 0x9E3779B97F4A7C15L, 2);
+        }
+
+        assertTrue(table.size() <= capacity);
+        assertTrue(table.getEvictions() > 0,
+                "A full table should evict entries");
+    }
+
+    @Test
+    void testDeepestEntryIsEvicted() {
+        // A single bucket of four entries
+        TranspositionTable table = new TranspositionTable(4 * (Long.BYTES + 1));
+
+        table.visit(1L, 1);
+        table.visit(2L, 9);
+        table.visit(3L, 2);
+        table.visit(4L, 3);
+        table.visit(5L, 1);
+
+        assertFalse(table.contains(2L), "The deepest entry should be evicted");
+        assertTrue(table.contains(1L));
+        assertTrue(table.contains(5L));
+    }
+
+    @Test
+    void testConcurrentVisitSkipsRepeatedPosition() {
+        ConcurrentTranspositionTable table = new ConcurrentTranspositionTable();
+
+        assertTrue(table.visit(42L, 3), "A new position should be searched");
+        assertFalse(table.visit(42L, 3),
+                "A position searched at the same depth should be skipped");
+        assertFalse(table.visit(42L, 5),
+                "A position searched at a shallower depth should be skipped");
+        assertTrue(table.visit(42L, 1),
+                "A position reached at a shallower depth should be searched");
+    }
+
+    @Test
+    void testConcurrentTableStaysWithinMemory() {
+        ConcurrentTranspositionTable table =
+                new ConcurrentTranspositionTable(1024);
+        long[] hashes = new long[table.capacity() * 4];
+
+        assertTrue(table.capacity() * Long.BYTES <= 1024,
+                "The table should stay within its memory limit");
+
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = (i + 1) * 0x9E3779B97F4A7C15L;
+        }
+
+        Arrays.stream(hashes).parallel().forEach(hash -> table.visit(hash, 2));
+
+        assertTrue(Arrays.stream(hashes).filter(table::contains).count() <=
+                table.capacity(), "A full table should evict entries");
+    }
+
+    @Test
+    void testZobristHashOfEqualBoards() {
+        Board board = new DefaultBoard().getBoard();
+        Board otherBoard = new DefaultBoard().getBoard();
+
+        assertEquals(Zobrist.hash(board), Zobrist.hash(otherBoard));
+        assertEquals(0L, Zobrist.hash(new Board(5, 5)),
+                "Empty cells do not change the hash");
+    }
+
+    @Test
+    void testZobristHashChangesAfterMove() {
+        Board board = new DefaultBoard().getBoard();
+
+        try {
+            Board moved = board.move(new Coordinate(3, 3), new Coordinate(3, 1));
+            assertNotEquals(Zobrist.hash(board), Zobrist.hash(moved));
+        } catch (InvalidMoveException e) {
+            fail(e);
+        }
+    }
+}
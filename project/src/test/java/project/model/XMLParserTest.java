@@ -0,0 +1,123 @@
+package project.model;
+
+import com.google.common.base.Optional;
+import io.atlassian.fugue.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XMLParserTest {
+
+    @TempDir
+    File directory;
+
+    private static Board board() {
+        return new Board.Builder(3, 4)
+                .setItem(new Hole(new Coordinate(0, 2),
+                        Optional.of(new Rabbit(0, 2))))
+                .setItem(new ElevatedBoardItem(new Coordinate(1, 3),
+                        Optional.of(Mushroom.of(new Coordinate(1, 3)))))
+                .setItem(new Fox(Pair.pair(new Coordinate(2, 1),
+                        new Coordinate(2, 0))))
+                .setItem(new Rabbit(0, 0))
+                .build();
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRoundTripKeepsSize() throws IOException, XMLStreamException {
+        Board board = board();
+
+        XMLParser.writeToXMLFile(board, new File(directory, "level").getPath());
+        Board read = XMLParser.boardFromXML(new File(directory, "level.XML"));
+
+        assertEquals(3, read.numberOfRows);
+        assertEquals(4, read.numberOfColumns);
+        assertEquals(board, read);
+    }
+
+    @Test
+    void testBoardWithoutSizeIsDefaultSize() throws XMLStreamException {
+        List<Board> boards = new ArrayList<>();
+
+        XMLParser.readBoards(stream(new Board(5, 5)
+                .setItem(new Rabbit(4, 4)).toXML()), boards::add);
+
+        assertEquals(1, boards.size());
+        assertEquals(XMLParser.DEFAULT_SIZE, boards.get(0).numberOfRows);
+        assertTrue(boards.get(0).getItem(4, 4) instanceof Rabbit);
+    }
+
+    @Test
+    void testMultipleBoards() throws IOException, XMLStreamException {
+        Board first = board();
+        Board second = new DefaultBoard().getBoard();
+        File file = new File(directory, "pack.XML");
+
+        XMLParser.writeToXMLFile(Arrays.asList(first, second), file);
+
+        assertEquals(Arrays.asList(first, second),
+                XMLParser.boardsFromXML(file));
+        assertEquals(first, XMLParser.boardFromXML(file));
+    }
+
+    @Test
+    void testInvalidItemsAreRejected() {
+        assertThrows(XMLStreamException.class, () -> XMLParser.readBoards(
+                stream("<Board><Wolf><Coordinate row=\"0\" column=\"0\"/>" +
+                        "</Wolf></Board>"), board -> { }));
+        assertThrows(XMLStreamException.class, () -> XMLParser.readBoards(
+                stream("<Board><Rabbit><Coordinate row=\"0\"/></Rabbit>" +
+                        "</Board>"), board -> { }));
+        assertThrows(XMLStreamException.class, () -> XMLParser.readBoards(
+                stream("<Board>"), board -> { }));
+    }
+
+    @Test
+    void testWriteXMLStreamsItemsInCellOrder() throws IOException {
+        Board board = new Board.Builder(1, 3)
+                .setItem(new Fox(Pair.pair(new Coordinate(0, 2),
+                        new Coordinate(0, 1))))
+                .build();
+        StringWriter writer = new StringWriter();
+
+        board.writeXML(writer);
+
+        assertEquals("<Board rows=\"1\" columns=\"3\">" +
+                "<Empty><Coordinate row=\"0\" column=\"0\"/></Empty>" +
+                "<Fox><CoordinatePair headRow=\"0\" headColumn=\"2\" " +
+                "tailRow=\"0\" tailColumn=\"1\"/></Fox></Board>",
+                writer.toString());
+        assertEquals(writer.toString().replace(
+                " rows=\"1\" columns=\"3\"", ""), board.toXML());
+    }
+
+    @Test
+    void testWriteBoardsToStream() throws IOException, XMLStreamException {
+        List<Board> boards = Arrays.asList(board(), new Board(2, 2));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<Board> read = new ArrayList<>();
+
+        XMLParser.writeBoards(boards, output);
+        XMLParser.readBoards(new ByteArrayInputStream(output.toByteArray()),
+                read::add);
+
+        assertEquals(boards, read);
+    }
+}